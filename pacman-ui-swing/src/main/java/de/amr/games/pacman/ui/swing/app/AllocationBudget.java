@@ -0,0 +1,129 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.app;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Measures the bytes allocated by the current thread per frame and reports frames exceeding a budget. Uses the
+ * per-thread allocation counter of the HotSpot {@code ThreadMXBean}, on other VMs the check is disabled.
+ * <p>
+ * A frame is enclosed by {@link #begin()} and {@link #end()}, both must be called by the same thread. The first frames
+ * are not checked, they include class loading, JIT compilation and lazily created caches.
+ * <p>
+ * Frames over budget are logged. The application exits with status 1 if the budget has been exceeded, and the test
+ * {@code PlaySceneAllocationTest} fails, so a violation does not go unnoticed.
+ * 
+ * @author Armin Reichert
+ */
+public class AllocationBudget {
+
+	private static final Logger LOG = LogManager.getFormatterLogger();
+
+	private static final long REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	private final com.sun.management.ThreadMXBean threadBean;
+	private final long budgetBytes;
+	private final int warmupFrames;
+	private long frameStartBytes;
+	private long frames;
+	private volatile long lastFrameBytes;
+	private volatile long violations;
+	private volatile long maxViolationBytes;
+	private long lastReportTime;
+
+	/**
+	 * @param budgetBytes  maximum number of bytes a frame may allocate
+	 * @param warmupFrames number of frames not checked
+	 */
+	public AllocationBudget(long budgetBytes, int warmupFrames) {
+		this.budgetBytes = budgetBytes;
+		this.warmupFrames = warmupFrames;
+		var bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean hotspotBean && hotspotBean.isThreadAllocatedMemorySupported()) {
+			hotspotBean.setThreadAllocatedMemoryEnabled(true);
+			threadBean = hotspotBean;
+		} else {
+			LOG.warn("Thread allocation counter not supported, allocation budget is not checked");
+			threadBean = null;
+		}
+	}
+
+	public boolean isSupported() {
+		return threadBean != null;
+	}
+
+	public void begin() {
+		if (threadBean != null) {
+			frameStartBytes = threadBean.getCurrentThreadAllocatedBytes();
+		}
+	}
+
+	public void end() {
+		if (threadBean == null) {
+			return;
+		}
+		lastFrameBytes = threadBean.getCurrentThreadAllocatedBytes() - frameStartBytes;
+		if (++frames <= warmupFrames || lastFrameBytes <= budgetBytes) {
+			return;
+		}
+		++violations;
+		maxViolationBytes = Math.max(maxViolationBytes, lastFrameBytes);
+		long now = System.nanoTime();
+		if (now - lastReportTime >= REPORT_INTERVAL_NANOS) {
+			LOG.error("Allocation budget of %d bytes per frame exceeded: %d frames so far, max %d bytes, last %d bytes",
+					budgetBytes, violations, maxViolationBytes, lastFrameBytes);
+			lastReportTime = now;
+		}
+	}
+
+	/**
+	 * @return bytes allocated by the last measured frame
+	 */
+	public long lastFrameBytes() {
+		return lastFrameBytes;
+	}
+
+	public long budgetBytes() {
+		return budgetBytes;
+	}
+
+	/**
+	 * @return maximum number of bytes allocated by a frame exceeding the budget
+	 */
+	public long maxViolationBytes() {
+		return maxViolationBytes;
+	}
+
+	/**
+	 * @return number of frames (after warmup) exceeding the budget
+	 */
+	public long violations() {
+		return violations;
+	}
+}
\ No newline at end of file
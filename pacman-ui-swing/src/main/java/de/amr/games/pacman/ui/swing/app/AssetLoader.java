@@ -0,0 +1,95 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.app;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Loads asset groups concurrently on a bounded pool of daemon threads. Each group is represented by a future, the load
+ * time of each group is recorded by the startup timer.
+ * 
+ * @author Armin Reichert
+ */
+public class AssetLoader {
+
+	private static final Logger LOG = LogManager.getFormatterLogger();
+
+	private final ExecutorService pool;
+	private final StartupTimer startupTimer;
+
+	/**
+	 * @param numThreads   maximum number of asset groups loaded at the same time
+	 * @param startupTimer receives the load times
+	 */
+	public AssetLoader(int numThreads, StartupTimer startupTimer) {
+		this("AssetLoader", numThreads, Thread.NORM_PRIORITY, startupTimer);
+	}
+
+	/**
+	 * @param name         prefix of the thread names
+	 * @param numThreads   maximum number of asset groups loaded at the same time
+	 * @param priority     priority of the loader threads, e.g. {@link Thread#MIN_PRIORITY} for background warming
+	 * @param startupTimer receives the load times
+	 */
+	public AssetLoader(String name, int numThreads, int priority, StartupTimer startupTimer) {
+		this.startupTimer = startupTimer;
+		var threadCount = new AtomicInteger();
+		pool = Executors.newFixedThreadPool(numThreads, runnable -> {
+			var thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			thread.setPriority(priority);
+			return thread;
+		});
+	}
+
+	/**
+	 * Starts loading an asset group.
+	 * 
+	 * @param <T>    asset type
+	 * @param group  group name used for timing and logging
+	 * @param loader function loading the group
+	 * @return future providing the loaded group
+	 */
+	public <T> CompletableFuture<T> load(String group, Supplier<T> loader) {
+		CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
+			long start = System.nanoTime();
+			T asset = loader.get();
+			startupTimer.record("Loaded " + group, System.nanoTime() - start);
+			return asset;
+		}, pool);
+		future.whenComplete((asset, x) -> {
+			if (x != null) {
+				LOG.error("Loading %s failed: %s", group, x);
+			}
+		});
+		return future;
+	}
+}
\ No newline at end of file
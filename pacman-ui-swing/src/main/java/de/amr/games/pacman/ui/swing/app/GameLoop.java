@@ -23,39 +23,158 @@ SOFTWARE.
  */
 package de.amr.games.pacman.ui.swing.app;
 
+/**
+ * The game loop. Runs the action on its own thread until stopped.
+ * <p>
+ * Life-cycle: {@link #start()} &rarr; {@link #pause()} / {@link #resume()} / {@link #step()} &rarr; {@link #stop()}.
+ * While paused or while no action is set, the loop thread blocks instead of spinning. All state changes are made
+ * under a common lock and are therefore visible to the loop thread.
+ * 
+ * @author Armin Reichert
+ */
 public class GameLoop {
 
+	public enum State {
+		CREATED, RUNNING, PAUSED, STOPPED
+	}
+
 	public final SpeedControl clock = new SpeedControl();
-	public Runnable action;
 
+	private final Object lock = new Object();
 	private Thread thread;
-	private boolean running;
+	private State state = State.CREATED;
+	private Runnable action;
+	private int pendingSteps;
 
 	private void run() {
-		while (running) {
-			if (action != null) {
-				action.run();
+		while (true) {
+			Runnable work;
+			synchronized (lock) {
+				while (isIdle()) {
+					try {
+						lock.wait();
+					} catch (InterruptedException x) {
+						Thread.currentThread().interrupt();
+						state = State.STOPPED;
+					}
+				}
+				if (state == State.STOPPED) {
+					return;
+				}
+				if (state == State.PAUSED) {
+					--pendingSteps;
+				}
+				work = action;
 			}
+			work.run();
+		}
+	}
+
+	// caller must hold lock
+	private boolean isIdle() {
+		return switch (state) {
+		case CREATED, STOPPED -> false;
+		case RUNNING -> action == null;
+		case PAUSED -> action == null || pendingSteps == 0;
+		};
+	}
+
+	public State state() {
+		synchronized (lock) {
+			return state;
+		}
+	}
+
+	public boolean isRunning() {
+		return state() == State.RUNNING;
+	}
+
+	public boolean isPaused() {
+		return state() == State.PAUSED;
+	}
+
+	public Runnable getAction() {
+		synchronized (lock) {
+			return action;
+		}
+	}
+
+	/**
+	 * Sets the action executed in each loop iteration. If the action is {@code null}, the loop thread is idle.
+	 * 
+	 * @param action loop action
+	 */
+	public void setAction(Runnable action) {
+		synchronized (lock) {
+			this.action = action;
+			lock.notifyAll();
 		}
 	}
 
 	public void start() {
-		if (running) {
-			return;
+		synchronized (lock) {
+			if (state != State.CREATED) {
+				return;
+			}
+			state = State.RUNNING;
+			thread = new Thread(this::run, "GameLoop");
+			thread.start();
 		}
-		thread = new Thread(this::run, "GameLoop");
-		thread.start();
-		running = true;
 	}
 
-	public void end() {
-		running = false;
-		try {
-			thread.join();
-		} catch (InterruptedException x) {
-			x.printStackTrace();
-			Thread.currentThread().interrupt();
+	public void pause() {
+		synchronized (lock) {
+			if (state == State.RUNNING) {
+				state = State.PAUSED;
+				pendingSteps = 0;
+			}
+		}
+	}
+
+	public void resume() {
+		synchronized (lock) {
+			if (state == State.PAUSED) {
+				state = State.RUNNING;
+				pendingSteps = 0;
+				clock.resync();
+				lock.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Executes a single iteration of the loop action if the loop is paused.
+	 */
+	public void step() {
+		synchronized (lock) {
+			if (state == State.PAUSED) {
+				++pendingSteps;
+				clock.resync();
+				lock.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Stops the loop and waits until the loop thread has terminated. Does not exit the application.
+	 */
+	public void stop() {
+		Thread loopThread;
+		synchronized (lock) {
+			if (state == State.STOPPED) {
+				return;
+			}
+			state = State.STOPPED;
+			loopThread = thread;
+			lock.notifyAll();
+		}
+		if (loopThread != null && loopThread != Thread.currentThread()) {
+			try {
+				loopThread.join();
+			} catch (InterruptedException x) {
+				x.printStackTrace();
+				Thread.currentThread().interrupt();
+			}
 		}
-		System.exit(0);
 	}
 }
\ No newline at end of file
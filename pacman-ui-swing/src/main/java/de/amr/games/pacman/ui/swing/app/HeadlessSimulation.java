@@ -0,0 +1,161 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.app;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.amr.games.pacman.controller.common.GameController;
+import de.amr.games.pacman.controller.common.GameState;
+import de.amr.games.pacman.controller.common.Steering;
+import de.amr.games.pacman.event.GameEvent;
+import de.amr.games.pacman.event.GameEventListener;
+import de.amr.games.pacman.event.GameStateChangeEvent;
+import de.amr.games.pacman.ui.swing.shell.ExperimentLog;
+
+/**
+ * Runs the game without any UI and without frame pacing, with Pac-Man steered by the autopilot or by the given
+ * steering. New games are started automatically, intermissions are skipped. Stops after the given number of ticks or
+ * games and reports the achieved tick rate.
+ * <p>
+ * The simulation must receive the game events of its game controller, either by registering it directly with
+ * {@link de.amr.games.pacman.event.GameEvents} or through a {@link SessionHost}.
+ * 
+ * @author Armin Reichert
+ */
+public class HeadlessSimulation implements GameEventListener {
+
+	private static final Logger LOG = LogManager.getFormatterLogger();
+
+	private final GameController gameController;
+	private final ExperimentLog explog;
+	private final long maxTicks;
+	private final int maxGames;
+	private String name = "Simulation";
+	private Steering steering;
+	private long ticks;
+	private int gamesPlayed;
+	private long runtimeNanos;
+
+	/**
+	 * @param gameController game controller
+	 * @param explog         experiment log
+	 * @param maxTicks       number of ticks after which the simulation stops, 0 = no limit
+	 * @param maxGames       number of games after which the simulation stops, 0 = no limit
+	 */
+	public HeadlessSimulation(GameController gameController, ExperimentLog explog, long maxTicks, int maxGames) {
+		if (maxTicks <= 0 && maxGames <= 0) {
+			throw new IllegalArgumentException("Either the number of ticks or the number of games must be limited");
+		}
+		this.gameController = gameController;
+		this.explog = explog;
+		this.maxTicks = maxTicks;
+		this.maxGames = maxGames;
+	}
+
+	public String name() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * @param steering steering of Pac-Man or {@code null} to use the autopilot (default). Must not depend on global
+	 *                 input like the keyboard if several sessions run in parallel, use a {@link SessionInput} per
+	 *                 session instead.
+	 */
+	public void setSteering(Steering steering) {
+		this.steering = steering;
+	}
+
+	public long ticks() {
+		return ticks;
+	}
+
+	public int gamesPlayed() {
+		return gamesPlayed;
+	}
+
+	public long runtimeNanos() {
+		return runtimeNanos;
+	}
+
+	public void run() {
+		if (steering != null) {
+			gameController.setManualPacSteering(steering);
+		}
+		if (gameController.isAutoControlled() != (steering == null)) {
+			gameController.toggleAutoControlled();
+		}
+		gameController.restart(GameState.INTRO);
+		long start = System.nanoTime();
+		while ((maxTicks <= 0 || ticks < maxTicks) && (maxGames <= 0 || gamesPlayed < maxGames)) {
+			gameController.update();
+			++ticks;
+			advanceUnattendedStates();
+		}
+		runtimeNanos = System.nanoTime() - start;
+		double seconds = runtimeNanos / 1e9;
+		LOG.info("%s: %d ticks, %d games in %.2f seconds (%.0f ticks/sec)", name, ticks, gamesPlayed, seconds,
+				ticks / seconds);
+	}
+
+	// does what the player or the game scenes would do otherwise
+	private void advanceUnattendedStates() {
+		switch (gameController.state()) {
+		case INTRO, CREDIT -> {
+			if (!gameController.game().hasCredit()) {
+				gameController.addCredit();
+			}
+			gameController.startPlaying();
+		}
+		case INTERMISSION, INTERMISSION_TEST -> gameController.terminateCurrentState();
+		default -> {
+			// simulation runs on
+		}
+		}
+	}
+
+	@Override
+	public void onGameEvent(GameEvent event) {
+		explog.logGameEvent(event);
+		GameEventListener.super.onGameEvent(event);
+	}
+
+	@Override
+	public void onGameStateChange(GameStateChangeEvent e) {
+		if (e.newGameState == GameState.GAME_OVER) {
+			++gamesPlayed;
+		} else if (e.newGameState == GameState.CHANGING_TO_NEXT_LEVEL) {
+			gameController.terminateCurrentState(); // as in play scene
+		}
+	}
+
+	@Override
+	public void onLevelStarting(GameEvent e) {
+		gameController.game().level().ifPresent(level -> explog.logLevelStarting(level.number()));
+	}
+}
\ No newline at end of file
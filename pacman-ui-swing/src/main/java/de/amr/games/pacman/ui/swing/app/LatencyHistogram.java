@@ -0,0 +1,167 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.app;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Histogram of durations (nanoseconds) with log-linear buckets over a sliding time window.
+ * <p>
+ * Each power of two is split into 16 linear sub-buckets, so reported values are at most about 6% too high. The window
+ * consists of a number of time slices; recording goes into the current slice, and when a slice is complete the
+ * percentiles over the whole window are computed and published. Recording does not allocate and must be done by a
+ * single thread, the published {@link Percentiles} can be read from any thread.
+ * 
+ * @author Armin Reichert
+ */
+public class LatencyHistogram {
+
+	public record Percentiles(long count, long p50, long p90, long p99, long p999, long max) {
+
+		public static final Percentiles NONE = new Percentiles(0, 0, 0, 0, 0, 0);
+	}
+
+	private static final int SUB_BITS = 4;
+	private static final int SUB_COUNT = 1 << SUB_BITS;
+	private static final int MAX_EXPONENT = 40; // 2^40 ns ~ 18 minutes
+	private static final int NUM_BUCKETS = (MAX_EXPONENT - SUB_BITS + 1) * SUB_COUNT;
+
+	static int bucketIndex(long value) {
+		if (value < SUB_COUNT) {
+			return value < 0 ? 0 : (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int shift = exponent - SUB_BITS;
+		int index = (shift + 1) * SUB_COUNT + (int) ((value >>> shift) & (SUB_COUNT - 1));
+		return Math.min(index, NUM_BUCKETS - 1);
+	}
+
+	static long bucketLowerBound(int index) {
+		if (index < SUB_COUNT) {
+			return index;
+		}
+		int shift = index / SUB_COUNT - 1;
+		return (long) (SUB_COUNT + index % SUB_COUNT) << shift;
+	}
+
+	private final long[][] slices;
+	private final long[] sliceMax;
+	private final long sliceNanos;
+	private final long[] merged = new long[NUM_BUCKETS];
+	private int current;
+	private long sliceStart;
+	private volatile Percentiles percentiles = Percentiles.NONE;
+
+	/**
+	 * @param numSlices  number of time slices of the sliding window
+	 * @param sliceNanos duration of a time slice in nanoseconds
+	 */
+	public LatencyHistogram(int numSlices, long sliceNanos) {
+		slices = new long[numSlices][NUM_BUCKETS];
+		sliceMax = new long[numSlices];
+		this.sliceNanos = sliceNanos;
+	}
+
+	/**
+	 * Creates a histogram over a sliding window of 10 seconds, published every second.
+	 */
+	public LatencyHistogram() {
+		this(10, TimeUnit.SECONDS.toNanos(1));
+	}
+
+	/**
+	 * Records a duration measured just now.
+	 * 
+	 * @param durationNanos duration in nanoseconds
+	 */
+	public void record(long durationNanos) {
+		record(durationNanos, System.nanoTime());
+	}
+
+	/**
+	 * @param durationNanos duration in nanoseconds
+	 * @param now           current time ({@link System#nanoTime()})
+	 */
+	public void record(long durationNanos, long now) {
+		if (sliceStart == 0) {
+			sliceStart = now;
+		} else if (now - sliceStart >= sliceNanos) {
+			advance(now);
+		}
+		slices[current][bucketIndex(durationNanos)]++;
+		if (durationNanos > sliceMax[current]) {
+			sliceMax[current] = durationNanos;
+		}
+	}
+
+	private void advance(long now) {
+		percentiles = computePercentiles();
+		long elapsedSlices = Math.min((now - sliceStart) / sliceNanos, slices.length);
+		for (int i = 0; i < elapsedSlices; ++i) {
+			current = (current + 1) % slices.length;
+			Arrays.fill(slices[current], 0);
+			sliceMax[current] = 0;
+		}
+		sliceStart = now;
+	}
+
+	private Percentiles computePercentiles() {
+		Arrays.fill(merged, 0);
+		long count = 0;
+		long max = 0;
+		for (int s = 0; s < slices.length; ++s) {
+			var slice = slices[s];
+			for (int i = 0; i < NUM_BUCKETS; ++i) {
+				merged[i] += slice[i];
+				count += slice[i];
+			}
+			max = Math.max(max, sliceMax[s]);
+		}
+		if (count == 0) {
+			return Percentiles.NONE;
+		}
+		return new Percentiles(count, valueAt(0.5, count, max), valueAt(0.9, count, max), valueAt(0.99, count, max),
+				valueAt(0.999, count, max), max);
+	}
+
+	private long valueAt(double quantile, long count, long max) {
+		long rank = (long) Math.ceil(quantile * count);
+		long seen = 0;
+		for (int i = 0; i < NUM_BUCKETS; ++i) {
+			seen += merged[i];
+			if (seen >= rank) {
+				return Math.min(bucketLowerBound(i + 1) - 1, max);
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * @return percentiles over the sliding window as of the last completed time slice
+	 */
+	public Percentiles percentiles() {
+		return percentiles;
+	}
+}
\ No newline at end of file
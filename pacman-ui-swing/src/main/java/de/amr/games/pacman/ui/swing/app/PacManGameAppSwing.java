@@ -23,6 +23,7 @@ SOFTWARE.
 */
 package de.amr.games.pacman.ui.swing.app;
 
+import static de.amr.games.pacman.lib.option.Option.booleanOption;
 import static de.amr.games.pacman.lib.option.Option.integerOption;
 import static de.amr.games.pacman.lib.option.Option.option;
 import static java.awt.EventQueue.invokeLater;
@@ -32,21 +33,49 @@ import de.amr.games.pacman.event.GameEvents;
 import de.amr.games.pacman.lib.option.Option;
 import de.amr.games.pacman.lib.option.OptionParser;
 import de.amr.games.pacman.model.common.GameVariant;
+import de.amr.games.pacman.ui.swing.shell.ExperimentLog;
+import de.amr.games.pacman.ui.swing.shell.GameAssets;
+import de.amr.games.pacman.ui.swing.shell.InputLatencyTracer;
+import de.amr.games.pacman.ui.swing.shell.KeyAction;
+import de.amr.games.pacman.ui.swing.shell.KeyBindings;
 import de.amr.games.pacman.ui.swing.shell.KeySteering;
+import de.amr.games.pacman.ui.swing.shell.Keyboard;
 import de.amr.games.pacman.ui.swing.shell.PacManGameUI;
+import de.amr.games.pacman.ui.swing.shell.RenderThread;
 
-import java.io.BufferedOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 
 /**
  * The Pac-Man application.
  * 
  * Command-line arguments:
  * <ul>
- * <li><code>-height</code> &lt;pixels&gt;: Height of UI in pixels (default: 576)</li>
+ * <li><code>-height</code> &lt;pixels&gt;: Initial height of UI in pixels, the window is resizable (default: 576)</li>
+ * <li><code>-intscale</code>: Scales the game by integer factors only (pixel-exact), with black bars around</li>
  * <li><code>-pacman</code>: Starts the game in Pac-Man mode</li>
  * <li><code>-mspacman</code>: Starts game in Ms. Pac-Man mode</li>
+ * <li><code>-fps</code> &lt;hertz&gt;: Target frequency of the game loop, may be non-integer (default: 60)</li>
+ * <li><code>-pacing</code> &lt;SLEEP|HYBRID&gt;: Frame pacing mode (default: HYBRID)</li>
+ * <li><code>-maxbehind</code> &lt;frames&gt;: Maximum number of frames the clock catches up after a stall (default:
+ * 5)</li>
+ * <li><code>-renderfps</code> &lt;hertz|display|sim|uncapped&gt;: Render frequency, independent of the simulation
+ * frequency (default: display refresh rate)</li>
+ * <li><code>-headless</code>: Runs autopilot games as fast as possible without UI, see {@link HeadlessSimulation}</li>
+ * <li><code>-ticks</code> &lt;count&gt;: Headless mode: stop after this many ticks (default: 0 = no limit)</li>
+ * <li><code>-games</code> &lt;count&gt;: Headless mode: stop after this many games (default: 1, 0 = no limit)</li>
+ * <li><code>-sessions</code> &lt;count&gt;: Headless mode: number of independent sessions run in parallel, see
+ * {@link SessionHost} (default: 1)</li>
+ * <li><code>-workers</code> &lt;count&gt;: Headless mode: number of worker threads for the sessions (default: number
+ * of processors)</li>
+ * <li><code>-latelatch</code>: Waits for the next frame before instead of after the game update, so input is sampled
+ * right before the result is rendered (toggle with key K), see {@link SpeedControl#setLateLatch(boolean)}</li>
+ * <li><code>-latencylog</code>: Writes the input-to-photon latency of each steering key press to the experiment log,
+ * see {@link InputLatencyTracer}</li>
+ * <li><code>-keys</code> &lt;file&gt;: Key bindings file overriding the default keys, see {@link KeyBindings}</li>
  * </ul>
  * 
  * @author Armin Reichert
@@ -54,15 +83,67 @@ import java.io.IOException;
 public class PacManGameAppSwing {
 
 	static final Option<Integer> OPT_HEIGHT = integerOption("-height", 576);
+	static final Option<Boolean> OPT_INTEGER_SCALING = booleanOption("-intscale", false);
 	static final Option<GameVariant> OPT_VARIANT = option("-variant", GameVariant.PACMAN, GameVariant::valueOf);
 
 	static final Option<String> OPT_USER = option("-user", "dev", String::valueOf);
-
+	static final Option<Double> OPT_FPS = option("-fps", 60.0, Double::valueOf);
+	static final Option<SpeedControl.Pacing> OPT_PACING = option("-pacing", SpeedControl.Pacing.HYBRID,
+			SpeedControl.Pacing::valueOf);
+	static final Option<Integer> OPT_MAX_BEHIND = integerOption("-maxbehind", 5);
+	static final Option<String> OPT_RENDER_FPS = option("-renderfps", "display", String::valueOf);
+	static final Option<Boolean> OPT_HEADLESS = booleanOption("-headless", false);
+	static final Option<Integer> OPT_TICKS = integerOption("-ticks", 0);
+	static final Option<Integer> OPT_GAMES = integerOption("-games", 1);
+	static final Option<Integer> OPT_SESSIONS = integerOption("-sessions", 1);
+	static final Option<Integer> OPT_WORKERS = integerOption("-workers", Runtime.getRuntime().availableProcessors());
+	static final Option<Integer> OPT_ALLOC_BUDGET = integerOption("-allocbudget", -1);
+	static final Option<Boolean> OPT_PERF_OVERLAY = booleanOption("-perfoverlay", false);
+	static final Option<Boolean> OPT_LATE_LATCH = booleanOption("-latelatch", false);
+	static final Option<Boolean> OPT_LATENCY_LOG = booleanOption("-latencylog", false);
+	static final Option<String> OPT_KEYS = option("-keys", "", String::valueOf);
+
+	static final int ALLOC_BUDGET_WARMUP_FRAMES = 600;
+	static final int ASSET_LOADER_THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
 
 	public static void main(String[] args) {
-		new OptionParser(OPT_HEIGHT, OPT_VARIANT, OPT_USER).parse(args);
+		var startupTimer = new StartupTimer();
+		new OptionParser(OPT_HEIGHT, OPT_INTEGER_SCALING, OPT_VARIANT, OPT_USER, OPT_FPS, OPT_PACING, OPT_MAX_BEHIND,
+				OPT_RENDER_FPS, OPT_HEADLESS, OPT_TICKS, OPT_GAMES, OPT_SESSIONS, OPT_WORKERS, OPT_ALLOC_BUDGET,
+				OPT_PERF_OVERLAY, OPT_LATE_LATCH, OPT_LATENCY_LOG, OPT_KEYS).parse(args);
+		if (OPT_HEADLESS.getValue()) {
+			System.setProperty("java.awt.headless", "true");
+		}
 		var app = new PacManGameAppSwing(OPT_VARIANT.getValue());
-		invokeLater(app::createAndShowUI);
+		startupTimer.mark("Game model created");
+		if (OPT_HEADLESS.getValue()) {
+			app.runHeadless();
+		} else {
+			if (!OPT_KEYS.getValue().isEmpty()) {
+				Keyboard.setBindings(loadKeyBindings(OPT_KEYS.getValue()));
+			}
+			var assets = new GameAssets(new AssetLoader(ASSET_LOADER_THREADS, startupTimer),
+					new AssetLoader("AssetWarmer", 1, Thread.MIN_PRIORITY, startupTimer), OPT_VARIANT.getValue());
+			startupTimer.mark("Asset loading started");
+			invokeLater(() -> app.createAndShowUI(assets, startupTimer));
+		}
+	}
+
+	private static double renderFrequency(String spec) {
+		return switch (spec) {
+		case "display" -> RenderThread.displayRefreshRate();
+		case "sim" -> RenderThread.LOCKED;
+		case "uncapped" -> RenderThread.UNCAPPED;
+		default -> Double.parseDouble(spec);
+		};
+	}
+
+	private static KeyBindings loadKeyBindings(String fileName) {
+		try {
+			return KeyBindings.load(Path.of(fileName));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
 	}
 
 	private GameController gameController;
@@ -71,27 +152,96 @@ public class PacManGameAppSwing {
 		gameController = new GameController(gameVariant);
 	}
 
-	private void createAndShowUI()
+	private static ExperimentLog createExperimentLog(String fileName)
 	{
-		var gameLoop = new GameLoop();
-		FileWriter fw = null;
 		try
 		{
-			fw = new FileWriter(OPT_USER.getValue()+"_explog.csv");
-
-			var ui = new PacManGameUI(fw, gameLoop, gameController, OPT_HEIGHT.getValue());
-			GameEvents.addListener(ui);
-			ui.show();
-			gameController.setManualPacSteering(new KeySteering(fw, "Up", "Down", "Left", "Right"));
-			gameLoop.action = () -> {
-				gameLoop.clock.frame(gameController::update);
-				ui.update();
-			};
-			gameLoop.start();
+			return new ExperimentLog(new FileWriter(fileName));
 		}
 		catch (IOException e)
 		{
 			throw new RuntimeException(e);
 		}
 	}
+
+	private void createAndShowUI(GameAssets assets, StartupTimer startupTimer)
+	{
+		startupTimer.mark("Event dispatch thread started");
+		var gameLoop = new GameLoop();
+		gameLoop.clock.setPacing(OPT_PACING.getValue());
+		gameLoop.clock.setTargetFrequency(OPT_FPS.getValue());
+		gameLoop.clock.setMaxFramesBehind(OPT_MAX_BEHIND.getValue());
+		var explog = createExperimentLog(OPT_USER.getValue()+"_explog.csv");
+		var ui = new PacManGameUI(explog, gameLoop, gameController, assets, OPT_HEIGHT.getValue());
+		startupTimer.mark("UI created");
+		ui.setFirstFrameAction(() -> {
+			startupTimer.mark("First frame presented");
+			startupTimer.log();
+		});
+		ui.setRenderFrequency(renderFrequency(OPT_RENDER_FPS.getValue()));
+		ui.setIntegerScaling(OPT_INTEGER_SCALING.getValue());
+		ui.setPerformanceOverlayVisible(OPT_PERF_OVERLAY.getValue());
+		ui.setLateLatch(OPT_LATE_LATCH.getValue());
+		ui.inputLatencyTracer().setLogging(OPT_LATENCY_LOG.getValue());
+		if (OPT_ALLOC_BUDGET.getValue() >= 0) {
+			ui.setAllocationBudget(new AllocationBudget(OPT_ALLOC_BUDGET.getValue(), ALLOC_BUDGET_WARMUP_FRAMES));
+		}
+		GameEvents.addListener(ui);
+		ui.show();
+		gameController.setManualPacSteering(new KeySteering(explog, ui.inputLatencyTracer(), KeyAction.PAC_UP,
+				KeyAction.PAC_DOWN, KeyAction.PAC_LEFT, KeyAction.PAC_RIGHT));
+		// input is polled inside the frame: with late latching, this happens after the wait for the frame
+		Runnable tick = () -> {
+			Keyboard.poll();
+			gameController.update();
+		};
+		gameLoop.setAction(() -> {
+			gameLoop.clock.frame(tick);
+			ui.update();
+		});
+		gameLoop.start();
+	}
+
+	private void runHeadless()
+	{
+		if (OPT_SESSIONS.getValue() > 1)
+		{
+			runSessions(OPT_SESSIONS.getValue());
+			return;
+		}
+		var explog = createExperimentLog(OPT_USER.getValue()+"_explog.csv");
+		try
+		{
+			var simulation = new HeadlessSimulation(gameController, explog, OPT_TICKS.getValue(), OPT_GAMES.getValue());
+			GameEvents.addListener(simulation);
+			simulation.run();
+		}
+		finally
+		{
+			explog.close();
+		}
+	}
+
+	private static void runSessions(int numSessions)
+	{
+		var host = new SessionHost(OPT_WORKERS.getValue());
+		var logs = new ArrayList<ExperimentLog>();
+		try
+		{
+			for (int i = 1; i <= numSessions; ++i)
+			{
+				var explog = createExperimentLog(OPT_USER.getValue()+"_session"+i+"_explog.csv");
+				logs.add(explog);
+				var session = new HeadlessSimulation(new GameController(OPT_VARIANT.getValue()), explog,
+						OPT_TICKS.getValue(), OPT_GAMES.getValue());
+				session.setName("Session " + i);
+				host.addSession(session);
+			}
+			host.run();
+		}
+		finally
+		{
+			logs.forEach(ExperimentLog::close);
+		}
+	}
 }
\ No newline at end of file
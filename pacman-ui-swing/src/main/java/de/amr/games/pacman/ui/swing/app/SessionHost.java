@@ -0,0 +1,133 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.app;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.amr.games.pacman.event.GameEvent;
+import de.amr.games.pacman.event.GameEventListener;
+import de.amr.games.pacman.event.GameEvents;
+
+/**
+ * Runs many independent headless game sessions in parallel on a fixed pool of worker threads.
+ * <p>
+ * Each session has its own game controller and experiment log. Pac-Man is steered by the autopilot of the session's
+ * game controller or by the session's own input source ({@link SessionInput}, see
+ * {@link HeadlessSimulation#setSteering}). Game events are published globally by {@link GameEvents} on the thread that
+ * updates the game, so while running, the host registers itself as the only listener and forwards each event to the
+ * session which is currently running on the publishing thread.
+ * <p>
+ * Sessions are isolated only as far as their game controllers are. Process-wide state is shared by all sessions: the
+ * listener list of {@link GameEvents} (handled by the routing above), any static state of the game model, and the UI
+ * singletons (keyboard, debug draw flag, sprite sheets). Headless sessions do not use the UI singletons, but a
+ * session steered from the keyboard instead of its {@link SessionInput} would receive the input of all sessions.
+ * 
+ * @author Armin Reichert
+ */
+public class SessionHost implements GameEventListener {
+
+	private static final Logger LOG = LogManager.getFormatterLogger();
+
+	private final ThreadLocal<HeadlessSimulation> sessionOfThread = new ThreadLocal<>();
+	private final List<HeadlessSimulation> sessions = new ArrayList<>();
+	private final int numWorkers;
+
+	public SessionHost(int numWorkers) {
+		if (numWorkers < 1) {
+			throw new IllegalArgumentException("Number of workers must be positive but is %d".formatted(numWorkers));
+		}
+		this.numWorkers = numWorkers;
+	}
+
+	/**
+	 * Adds a session. Each session must use its own game controller. Sessions must be added before {@link #run()}.
+	 * 
+	 * @param session a session
+	 */
+	public void addSession(HeadlessSimulation session) {
+		sessions.add(session);
+	}
+
+	public List<HeadlessSimulation> sessions() {
+		return List.copyOf(sessions);
+	}
+
+	/**
+	 * Runs all sessions and returns when all of them have finished.
+	 */
+	public void run() {
+		GameEvents.addListener(this);
+		var threadCount = new AtomicInteger();
+		ExecutorService workers = Executors.newFixedThreadPool(numWorkers,
+				runnable -> new Thread(runnable, "SessionWorker-" + threadCount.incrementAndGet()));
+		long start = System.nanoTime();
+		try {
+			List<Future<?>> results = new ArrayList<>();
+			for (var session : sessions) {
+				results.add(workers.submit(() -> runSession(session)));
+			}
+			for (var result : results) {
+				result.get();
+			}
+		} catch (InterruptedException x) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException x) {
+			throw new IllegalStateException("Session failed", x.getCause());
+		} finally {
+			workers.shutdownNow();
+			GameEvents.removeListener(this);
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		long totalTicks = sessions.stream().mapToLong(HeadlessSimulation::ticks).sum();
+		int totalGames = sessions.stream().mapToInt(HeadlessSimulation::gamesPlayed).sum();
+		LOG.info("%d sessions on %d workers: %d ticks, %d games in %.2f seconds (%.0f ticks/sec)", sessions.size(),
+				numWorkers, totalTicks, totalGames, seconds, totalTicks / seconds);
+	}
+
+	private void runSession(HeadlessSimulation session) {
+		sessionOfThread.set(session);
+		try {
+			session.run();
+		} finally {
+			sessionOfThread.remove();
+		}
+	}
+
+	@Override
+	public void onGameEvent(GameEvent event) {
+		var session = sessionOfThread.get();
+		if (session != null) {
+			session.onGameEvent(event);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.app;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import de.amr.games.pacman.controller.common.Steering;
+import de.amr.games.pacman.lib.steering.Direction;
+import de.amr.games.pacman.model.common.GameLevel;
+import de.amr.games.pacman.model.common.actors.Creature;
+
+/**
+ * Steers Pac-Man of a single session by the commands of its own input source, e.g. a remote player or a bot running
+ * on another thread. Unlike the keyboard steering, this does not read any process-wide input, so each of the sessions
+ * run by a {@link SessionHost} can have its own.
+ * <p>
+ * Commands may be offered from any thread. They are applied in the order offered, at most one each time Pac-Man is
+ * steered.
+ * 
+ * @author Armin Reichert
+ */
+public class SessionInput implements Steering {
+
+	private final Queue<Direction> commands = new ConcurrentLinkedQueue<>();
+	private long appliedCommands;
+
+	/**
+	 * @param dir direction Pac-Man should take next
+	 */
+	public void offer(Direction dir) {
+		commands.add(Objects.requireNonNull(dir));
+	}
+
+	/**
+	 * @return number of commands applied so far, read only by the session thread or after the session has finished
+	 */
+	public long appliedCommands() {
+		return appliedCommands;
+	}
+
+	@Override
+	public void steer(GameLevel level, Creature pac) {
+		var dir = commands.poll();
+		if (dir != null) {
+			pac.setWishDir(dir);
+			++appliedCommands;
+		}
+	}
+}
\ No newline at end of file
@@ -24,25 +24,149 @@ SOFTWARE.
 package de.amr.games.pacman.ui.swing.app;
 
 import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Controls the speed of the simulation.
+ * <p>
+ * Two pacing modes are available:
+ * <ul>
+ * <li>{@link Pacing#SLEEP}: the original mode, sleeps a whole number of milliseconds after each frame.</li>
+ * <li>{@link Pacing#HYBRID}: keeps an absolute frame deadline, parks the thread until shortly before the deadline and
+ * spin-waits the rest. Supports non-integer frequencies. If the loop falls behind (e.g. after a GC pause), up to
+ * {@link #getMaxFramesBehind()} frames are executed back-to-back to catch up, beyond that the deadline is reset.</li>
+ * </ul>
+ * <p>
+ * Normally the wait follows the work of a frame. With {@link #setLateLatch(boolean) late latching}, the wait precedes
+ * the work instead, so the work (including input sampling) runs right before its result is needed, not one frame
+ * earlier.
+ * <p>
+ * For each {@link Phase} of a frame, a {@link LatencyHistogram} is kept. The work passed to {@link #frame(Runnable)}
+ * is recorded as {@link Phase#UPDATE} (or the phase given to {@link #SpeedControl(Phase)}), the other phases are
+ * recorded by the code executing them. Work done by the
+ * frame thread outside of {@link #frame(Runnable)}, like the UI update, is reported by
+ * {@link #recordTickWork(Phase, long, long)} so that the {@link Pacing#SLEEP} pacing accounts for it.
+ * <p>
+ * The frame deadline is only modified by the thread calling {@link #frame(Runnable)}. Other threads changing the
+ * pacing or the frequency, or calling {@link #resync()}, only request a restart of the frame timing.
  * 
  * @author Armin Reichert
  */
 public class SpeedControl {
 
-	private int targetFPS = 60;
-	private double frameDurationNanos = 1e9 / targetFPS;
+	public enum Pacing {
+		SLEEP, HYBRID
+	}
+
+	/** Phases of a frame for which durations are recorded. */
+	public enum Phase {
+		/** Game controller update. */
+		UPDATE,
+		/** UI update including scene update and snapshot rendering, on the game loop thread. */
+		UI_UPDATE,
+		/** Scene rendering into the snapshot, on the game loop thread as part of {@link #UI_UPDATE}. */
+		RENDER,
+		/** Buffer strategy show, on the render thread. */
+		SHOW,
+		/** Presentation of a snapshot including {@link #SHOW}, on the render thread. */
+		PRESENT
+	}
+
+	private static final long NANOS_PER_SECOND = Duration.ofSeconds(1).toNanos();
+
+	/** Remaining time before the deadline which is spent spin-waiting instead of parking. */
+	private static final long SPIN_THRESHOLD_NANOS = 1_000_000;
+
+	/**
+	 * Time source and waiting strategy of the {@link Pacing#HYBRID} pacing, replaced by tests.
+	 */
+	interface Ticker {
+
+		Ticker SYSTEM = new Ticker() {
 
+			@Override
+			public long nanoTime() {
+				return System.nanoTime();
+			}
+
+			@Override
+			public void waitUntil(long deadline) {
+				long remaining = deadline - System.nanoTime();
+				while (remaining > SPIN_THRESHOLD_NANOS) {
+					LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+					if (Thread.currentThread().isInterrupted()) {
+						return;
+					}
+					remaining = deadline - System.nanoTime();
+				}
+				while (deadline - System.nanoTime() > 0) {
+					Thread.onSpinWait();
+				}
+			}
+		};
+
+		/**
+		 * @return current time in nanoseconds, see {@link System#nanoTime()}
+		 */
+		long nanoTime();
+
+		/**
+		 * Returns when the given time is reached.
+		 * 
+		 * @param deadline time in nanoseconds
+		 */
+		void waitUntil(long deadline);
+	}
+
+	private final Ticker ticker;
+	private final Phase workPhase;
+	private volatile Pacing pacing = Pacing.HYBRID;
+	private volatile double targetFrequency = 60;
+	private volatile long frameDurationNanos = Math.round(NANOS_PER_SECOND / targetFrequency);
+	private int maxFramesBehind = 5;
+	private boolean lateLatch;
+
+	private volatile boolean resyncRequested;
+	private long nextFrameDeadline; // only modified by the frame thread
+	private long lastWorkNanos;
+	private long tickWorkNanos; // reported work since the last wait
 	private long totalFrames;
 	private long lastFPS;
+	private long skippedFrames;
 
 	private long framesCountedDuringLastSecond;
 	private long framesCountStart;
 
+	private final Map<Phase, LatencyHistogram> histograms = new EnumMap<>(Phase.class);
+
+	public SpeedControl() {
+		this(Phase.UPDATE);
+	}
+
+	/**
+	 * @param workPhase phase under which the work passed to {@link #frame(Runnable)} is recorded
+	 */
+	public SpeedControl(Phase workPhase) {
+		this(Ticker.SYSTEM, workPhase);
+	}
+
+	SpeedControl(Ticker ticker) {
+		this(ticker, Phase.UPDATE);
+	}
+
+	private SpeedControl(Ticker ticker, Phase workPhase) {
+		this.ticker = ticker;
+		this.workPhase = workPhase;
+		for (var phase : Phase.values()) {
+			histograms.put(phase, new LatencyHistogram());
+		}
+	}
+
 	/**
-	 * Executes the given work and sleeps as long as needed to keep the target frequency.
+	 * Executes the given work and waits as long as needed to keep the target frequency. With late latching, the wait
+	 * happens before the work.
 	 * 
 	 * @param work some work to do during this frame
 	 */
@@ -51,19 +175,56 @@ public class SpeedControl {
 		long workEnd;
 		long workDuration;
 
-		workStart = System.nanoTime();
+		if (lateLatch) {
+			pace(lastWorkNanos + takeTickWork(), ticker.nanoTime());
+		}
+		workStart = ticker.nanoTime();
 		work.run();
-		workEnd = System.nanoTime();
+		workEnd = ticker.nanoTime();
 		workDuration = workEnd - workStart;
+		lastWorkNanos = workDuration;
+		histograms.get(workPhase).record(workDuration, workEnd);
 
 		++totalFrames;
 		++framesCountedDuringLastSecond;
-		if (workEnd - framesCountStart >= Duration.ofSeconds(1).toNanos()) {
+		if (workEnd - framesCountStart >= NANOS_PER_SECOND) {
 			lastFPS = framesCountedDuringLastSecond;
 			framesCountedDuringLastSecond = 0;
-			framesCountStart = System.nanoTime();
+			framesCountStart = ticker.nanoTime();
+		}
+
+		if (!lateLatch) {
+			pace(workDuration + takeTickWork(), workStart);
 		}
+	}
 
+	/**
+	 * Records work done by the thread calling {@link #frame(Runnable)} outside of the frame work, e.g. the UI update
+	 * following each game update. The work is charged to the frame budget of the next wait.
+	 * 
+	 * @param phase         phase of the work
+	 * @param durationNanos duration of the work
+	 * @param now           current time ({@link System#nanoTime()})
+	 */
+	public void recordTickWork(Phase phase, long durationNanos, long now) {
+		histograms.get(phase).record(durationNanos, now);
+		tickWorkNanos += durationNanos;
+	}
+
+	private long takeTickWork() {
+		long work = tickWorkNanos;
+		tickWorkNanos = 0;
+		return work;
+	}
+
+	private void pace(long workDuration, long frameStart) {
+		switch (pacing) {
+		case SLEEP -> sleep(workDuration);
+		case HYBRID -> waitForNextFrame(frameStart);
+		}
+	}
+
+	private void sleep(long workDuration) {
 		double sleepMillis = Math.max((frameDurationNanos - workDuration) * 98 / 100, 0) / 1_000_000L;
 		if (sleepMillis > 0) {
 			try {
@@ -75,13 +236,113 @@ public class SpeedControl {
 		}
 	}
 
+	private void waitForNextFrame(long frameStart) {
+		long frameDurationNanos = this.frameDurationNanos;
+		if (resyncRequested) {
+			resyncRequested = false;
+			nextFrameDeadline = 0;
+		}
+		if (frameDurationNanos == 0) {
+			return; // uncapped
+		}
+		if (nextFrameDeadline == 0) {
+			nextFrameDeadline = frameStart;
+		}
+		nextFrameDeadline += frameDurationNanos;
+		long now = ticker.nanoTime();
+		long behind = now - nextFrameDeadline;
+		if (behind > 0) {
+			// late: run the next frames without waiting until caught up, but do not try to catch up too far
+			if (behind > maxFramesBehind * frameDurationNanos) {
+				skippedFrames += behind / frameDurationNanos;
+				nextFrameDeadline = now;
+			}
+			return;
+		}
+		ticker.waitUntil(nextFrameDeadline);
+	}
+
+	/**
+	 * @param phase frame phase
+	 * @return histogram of the durations of the given phase. Each histogram must only be recorded into by one thread.
+	 */
+	public LatencyHistogram histogram(Phase phase) {
+		return histograms.get(phase);
+	}
+
+	/**
+	 * Restarts frame timing from the current time, e.g. after the loop has been paused. May be called from any thread.
+	 */
+	public void resync() {
+		resyncRequested = true;
+	}
+
+	public Pacing getPacing() {
+		return pacing;
+	}
+
+	public void setPacing(Pacing pacing) {
+		this.pacing = pacing;
+		resync();
+	}
+
 	public int getTargetFPS() {
-		return targetFPS;
+		return (int) Math.round(targetFrequency);
 	}
 
 	public void setTargetFPS(int framesPerSecond) {
-		targetFPS = framesPerSecond;
-		frameDurationNanos = Duration.ofSeconds(1).toNanos() / targetFPS;
+		setTargetFrequency(framesPerSecond);
+	}
+
+	public double getTargetFrequency() {
+		return targetFrequency;
+	}
+
+	public long getFrameDurationNanos() {
+		return frameDurationNanos;
+	}
+
+	/**
+	 * @param hertz target frequency, may be non-integer like the 60.606 Hz of the arcade machine, or
+	 *              {@link Double#POSITIVE_INFINITY} for no limit
+	 */
+	public void setTargetFrequency(double hertz) {
+		if (hertz <= 0) {
+			throw new IllegalArgumentException("Target frequency must be positive but is %f".formatted(hertz));
+		}
+		targetFrequency = hertz;
+		frameDurationNanos = Math.round(NANOS_PER_SECOND / hertz);
+		resync();
+	}
+
+	public boolean isLateLatch() {
+		return lateLatch;
+	}
+
+	/**
+	 * @param lateLatch if the wait for the next frame happens before the work of a frame instead of after it. Only to be
+	 *                  changed by the thread calling {@link #frame(Runnable)}.
+	 */
+	public void setLateLatch(boolean lateLatch) {
+		this.lateLatch = lateLatch;
+	}
+
+	public int getMaxFramesBehind() {
+		return maxFramesBehind;
+	}
+
+	/**
+	 * @param maxFramesBehind maximum number of frames the clock tries to catch up after falling behind
+	 */
+	public void setMaxFramesBehind(int maxFramesBehind) {
+		this.maxFramesBehind = Math.max(0, maxFramesBehind);
+	}
+
+	/**
+	 * @return duration of the work of the last frame in nanoseconds
+	 */
+	public long getLastWorkNanos() {
+		return lastWorkNanos;
 	}
 
 	public long getLastFPS() {
@@ -92,11 +353,18 @@ public class SpeedControl {
 		return totalFrames;
 	}
 
+	/**
+	 * @return number of frames given up because the clock fell behind more than the allowed number of frames
+	 */
+	public long getSkippedFrames() {
+		return skippedFrames;
+	}
+
 	/**
 	 * @return the number of ticks equivalent to the given amount of seconds wrt. to the current clock frequency
 	 */
 	public int sec(double seconds) {
-		return (int) (seconds * targetFPS);
+		return (int) (seconds * targetFrequency);
 	}
 
 	/**
@@ -0,0 +1,81 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.app;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Collects the timing of startup phases and asset loading tasks relative to the creation of the timer, so the time to
+ * the first presented frame can be measured and compared between versions. Thread-safe.
+ * 
+ * @author Armin Reichert
+ */
+public class StartupTimer {
+
+	private static final Logger LOG = LogManager.getFormatterLogger();
+
+	private final long startNanos = System.nanoTime();
+	private final long jvmUptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+	private final List<String> entries = new ArrayList<>();
+	private boolean logged;
+
+	private double millisSinceStart() {
+		return (System.nanoTime() - startNanos) / 1e6;
+	}
+
+	/**
+	 * Records that a startup phase has been reached.
+	 * 
+	 * @param phase phase name
+	 */
+	public synchronized void mark(String phase) {
+		entries.add("%-36s at %8.1f ms".formatted(phase, millisSinceStart()));
+	}
+
+	/**
+	 * Records the duration of a task which has just finished.
+	 * 
+	 * @param task          task name
+	 * @param durationNanos task duration
+	 */
+	public synchronized void record(String task, long durationNanos) {
+		entries.add("%-36s at %8.1f ms, took %7.1f ms [%s]".formatted(task, millisSinceStart(), durationNanos / 1e6,
+				Thread.currentThread().getName()));
+	}
+
+	/**
+	 * Logs the breakdown once.
+	 */
+	public synchronized void log() {
+		if (!logged) {
+			LOG.info("Startup timing (JVM uptime at start %d ms):%n%s", jvmUptimeMillis, String.join("\n", entries));
+			logged = true;
+		}
+	}
+}
\ No newline at end of file
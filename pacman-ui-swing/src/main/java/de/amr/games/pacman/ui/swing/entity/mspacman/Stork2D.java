@@ -40,7 +40,7 @@ public class Stork2D {
 	public Stork2D(Entity stork, Rendering2D rendering) {
 		this.stork = stork;
 		this.rendering = rendering;
-		animation = SpritesheetMsPacMan.get().createStorkFlyingAnimation();
+		animation = ((SpritesheetMsPacMan) rendering).createStorkFlyingAnimation();
 	}
 
 	public void render(Graphics2D g) {
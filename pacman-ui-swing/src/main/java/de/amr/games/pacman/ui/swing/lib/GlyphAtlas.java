@@ -0,0 +1,252 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.lib;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Bitmap font made from a font of fixed size. The glyphs of the Latin-1 characters are rasterized once, tinted copies
+ * are created once per color. The colors known in advance are tinted by {@link #tint(Color...)} when the atlas is
+ * created, other colors on first use. Drawing text is a sequence of image blits without glyph layout, drawing numbers
+ * does not allocate strings.
+ * <p>
+ * Created and tinted by the loader thread, then used by the game loop thread and by the render thread (HUD). Drawing
+ * is thread-safe: a color tinted on first use is added under a lock and published by replacing the tint table.
+ * 
+ * @author Armin Reichert
+ */
+public class GlyphAtlas {
+
+	private static final int NUM_CHARS = 256;
+
+	private final Font font;
+	private final int ascent;
+	private final int height;
+	private final int[] advances = new int[NUM_CHARS];
+	private final BufferedImage[] masks = new BufferedImage[NUM_CHARS];
+	private final int maxAdvance;
+	private volatile Tint[] tints = new Tint[0];
+
+	private record Tint(int rgb, BufferedImage[] glyphs) {
+	}
+
+	public GlyphAtlas(Font font) {
+		this.font = font;
+		var scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+		var sg = scratch.createGraphics();
+		var metrics = sg.getFontMetrics(font);
+		sg.dispose();
+		ascent = metrics.getAscent();
+		height = ascent + metrics.getDescent();
+		int max = 0;
+		for (char c = ' '; c < NUM_CHARS; ++c) {
+			advances[c] = metrics.charWidth(c);
+			if (advances[c] > 0 && font.canDisplay(c) && !Character.isISOControl(c)) {
+				masks[c] = rasterize(c);
+				max = Math.max(max, advances[c]);
+			}
+		}
+		maxAdvance = max;
+	}
+
+	private BufferedImage rasterize(char c) {
+		var mask = new BufferedImage(advances[c], height, BufferedImage.TYPE_INT_ARGB);
+		var g = mask.createGraphics();
+		g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+		g.setFont(font);
+		g.setColor(Color.WHITE);
+		g.drawString(String.valueOf(c), 0, ascent);
+		g.dispose();
+		return mask;
+	}
+
+	public Font font() {
+		return font;
+	}
+
+	public int ascent() {
+		return ascent;
+	}
+
+	/**
+	 * @param text some text
+	 * @return width of the text in pixels
+	 */
+	public int width(String text) {
+		int width = 0;
+		for (int i = 0; i < text.length(); ++i) {
+			width += advance(text.charAt(i));
+		}
+		return width;
+	}
+
+	private int advance(char c) {
+		return c < NUM_CHARS ? advances[c] : 0;
+	}
+
+	/**
+	 * Creates the tinted glyphs of the given colors now instead of on first use.
+	 * 
+	 * @param colors text colors
+	 */
+	public void tint(Color... colors) {
+		for (var color : colors) {
+			glyphs(color);
+		}
+	}
+
+	private BufferedImage[] glyphs(Color color) {
+		var glyphs = find(tints, color.getRGB());
+		return glyphs != null ? glyphs : addTint(color.getRGB());
+	}
+
+	private static BufferedImage[] find(Tint[] table, int rgb) {
+		for (var tint : table) {
+			if (tint.rgb() == rgb) {
+				return tint.glyphs();
+			}
+		}
+		return null;
+	}
+
+	private synchronized BufferedImage[] addTint(int rgb) {
+		var table = tints;
+		var glyphs = find(table, rgb);
+		if (glyphs != null) {
+			return glyphs; // added by another thread meanwhile
+		}
+		glyphs = new BufferedImage[NUM_CHARS];
+		var pixels = new int[maxAdvance * height];
+		for (int c = 0; c < NUM_CHARS; ++c) {
+			if (masks[c] != null) {
+				glyphs[c] = tint(masks[c], rgb, pixels);
+			}
+		}
+		var extended = Arrays.copyOf(table, table.length + 1);
+		extended[table.length] = new Tint(rgb, glyphs);
+		tints = extended;
+		return glyphs;
+	}
+
+	private static BufferedImage tint(BufferedImage mask, int rgb, int[] pixels) {
+		int width = mask.getWidth();
+		int height = mask.getHeight();
+		mask.getRGB(0, 0, width, height, pixels, 0, width);
+		int alphaOfColor = rgb >>> 24;
+		for (int i = 0; i < width * height; ++i) {
+			int alpha = (pixels[i] >>> 24) * alphaOfColor / 255;
+			pixels[i] = alpha << 24 | rgb & 0xFFFFFF;
+		}
+		var glyph = ManagedImages.createImage(width, height, Transparency.TRANSLUCENT);
+		glyph.setRGB(0, 0, width, height, pixels, 0, width);
+		return glyph;
+	}
+
+	/**
+	 * Draws a single character.
+	 * 
+	 * @param g     graphics
+	 * @param c     character
+	 * @param color text color
+	 * @param x     left x position
+	 * @param y     baseline y position
+	 * @return x position after the character
+	 */
+	public int drawChar(Graphics2D g, char c, Color color, int x, int y) {
+		if (c < NUM_CHARS) {
+			var glyph = glyphs(color)[c];
+			if (glyph != null) {
+				g.drawImage(glyph, x, y - ascent, null);
+			}
+		}
+		return x + advance(c);
+	}
+
+	/**
+	 * Draws text like {@link Graphics2D#drawString(String, int, int)}.
+	 * 
+	 * @param g     graphics
+	 * @param text  text
+	 * @param color text color
+	 * @param x     left x position
+	 * @param y     baseline y position
+	 * @return x position after the text
+	 */
+	public int drawText(Graphics2D g, String text, Color color, int x, int y) {
+		var glyphs = glyphs(color);
+		for (int i = 0; i < text.length(); ++i) {
+			char c = text.charAt(i);
+			if (c < NUM_CHARS) {
+				if (glyphs[c] != null) {
+					g.drawImage(glyphs[c], x, y - ascent, null);
+				}
+				x += advances[c];
+			}
+		}
+		return x;
+	}
+
+	/**
+	 * Draws a non-negative number without creating a string.
+	 * 
+	 * @param g         graphics
+	 * @param number    number
+	 * @param minDigits minimum number of character cells, the number is right-aligned and left-padded with spaces like
+	 *                  <code>String.format("%7d", number)</code> for 7 cells
+	 * @param color     text color
+	 * @param x         left x position
+	 * @param y         baseline y position
+	 * @return x position after the number
+	 */
+	public int drawNumber(Graphics2D g, long number, int minDigits, Color color, int x, int y) {
+		if (number < 0) {
+			throw new IllegalArgumentException("Negative number: %d".formatted(number));
+		}
+		int numDigits = 1;
+		for (long rest = number / 10; rest > 0; rest /= 10) {
+			++numDigits;
+		}
+		var glyphs = glyphs(color);
+		int cells = Math.max(numDigits, minDigits);
+		x += (cells - numDigits) * advances[' '];
+		long divisor = 1;
+		for (int i = 1; i < numDigits; ++i) {
+			divisor *= 10;
+		}
+		for (; divisor > 0; divisor /= 10) {
+			char digit = (char) ('0' + number / divisor % 10);
+			if (glyphs[digit] != null) {
+				g.drawImage(glyphs[digit], x, y - ascent, null);
+			}
+			x += advances[digit];
+		}
+		return x;
+	}
+}
\ No newline at end of file
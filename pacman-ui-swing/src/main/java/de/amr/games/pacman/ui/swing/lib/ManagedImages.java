@@ -0,0 +1,136 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.lib;
+
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Converts images into the format of the default screen configuration so that Java2D can keep them managed (cached in
+ * accelerated memory) and blit them without format conversion. Without a screen (headless mode), integer RGB images are
+ * used.
+ * <p>
+ * Registered images can be listed together with their current acceleration status in a diagnostics report. Only the
+ * images that matter for blitting performance are registered: the loaded images (sprite sheets), the mazes and the
+ * large layers. Sprites and glyphs are not registered, the registry stays at a few dozen entries.
+ * 
+ * @author Armin Reichert
+ */
+public class ManagedImages {
+
+	private static final GraphicsConfiguration GC = GraphicsEnvironment.isHeadless() ? null
+			: GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+
+	/** Weak references, so images of evicted assets can be collected. */
+	private static final Map<String, WeakReference<BufferedImage>> registry = new LinkedHashMap<>();
+
+	private ManagedImages() {
+	}
+
+	/**
+	 * @return graphics configuration of the default screen or {@code null} in headless mode
+	 */
+	public static GraphicsConfiguration graphicsConfiguration() {
+		return GC;
+	}
+
+	/**
+	 * Creates an image in the screen compatible format.
+	 * 
+	 * @param width        image width
+	 * @param height       image height
+	 * @param transparency one of {@link Transparency#OPAQUE}, {@link Transparency#BITMASK},
+	 *                     {@link Transparency#TRANSLUCENT}
+	 * @return new image
+	 */
+	public static BufferedImage createImage(int width, int height, int transparency) {
+		if (GC != null) {
+			return GC.createCompatibleImage(width, height, transparency);
+		}
+		return new BufferedImage(width, height,
+				transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+	}
+
+	/**
+	 * @param src some image
+	 * @return copy of the image in the screen compatible format
+	 */
+	public static BufferedImage compatible(BufferedImage src) {
+		var dst = createImage(src.getWidth(), src.getHeight(), src.getTransparency());
+		var g = dst.createGraphics();
+		g.drawImage(src, 0, 0, null);
+		g.dispose();
+		return dst;
+	}
+
+	/**
+	 * Adds an image to the diagnostics report.
+	 * 
+	 * @param name  image name
+	 * @param image image
+	 * @return the image
+	 */
+	public static BufferedImage register(String name, BufferedImage image) {
+		synchronized (registry) {
+			registry.put(name, new WeakReference<>(image));
+		}
+		return image;
+	}
+
+	/**
+	 * Images become accelerated only after they have been drawn a few times, so this report is only meaningful while the
+	 * game is running.
+	 * 
+	 * @return report listing the registered images with type and acceleration status
+	 */
+	public static String report() {
+		var sb = new StringBuilder();
+		sb.append("Graphics configuration: %s%n".formatted(GC != null ? GC.getClass().getName() : "headless"));
+		sb.append("Pipeline properties: xrender=%s opengl=%s d3d=%s%n".formatted(System.getProperty("sun.java2d.xrender"),
+				System.getProperty("sun.java2d.opengl"), System.getProperty("sun.java2d.d3d")));
+		int accelerated = 0;
+		synchronized (registry) {
+			registry.values().removeIf(ref -> ref.get() == null);
+			for (var entry : registry.entrySet()) {
+				var image = entry.getValue().get();
+				if (image == null) {
+					continue;
+				}
+				boolean acc = GC != null && image.getCapabilities(GC).isAccelerated();
+				if (acc) {
+					++accelerated;
+				}
+				sb.append("%-50s %4dx%-4d type=%-2d %s%n".formatted(entry.getKey(), image.getWidth(), image.getHeight(),
+						image.getType(), acc ? "accelerated" : "not accelerated"));
+			}
+			sb.append("%d of %d images accelerated".formatted(accelerated, registry.size()));
+		}
+		return sb.toString();
+	}
+}
\ No newline at end of file
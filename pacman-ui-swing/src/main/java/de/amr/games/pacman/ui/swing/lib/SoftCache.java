@@ -0,0 +1,64 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.lib;
+
+import java.lang.ref.SoftReference;
+import java.util.function.Supplier;
+
+/**
+ * Lazily created value which is only softly referenced, so the garbage collector may evict it under memory pressure
+ * unless someone else holds a strong reference. It is re-created on next access. Concurrent first accesses wait until
+ * the value has been created once.
+ * 
+ * @param <T> value type
+ * @author Armin Reichert
+ */
+public class SoftCache<T> {
+
+	private final Supplier<T> factory;
+	private volatile SoftReference<T> ref = new SoftReference<>(null);
+
+	public SoftCache(Supplier<T> factory) {
+		this.factory = factory;
+	}
+
+	/**
+	 * @return the value, created if not present
+	 */
+	public synchronized T get() {
+		T value = ref.get();
+		if (value == null) {
+			value = factory.get();
+			ref = new SoftReference<>(value);
+		}
+		return value;
+	}
+
+	/**
+	 * @return the value if present, else {@code null}. Does not wait while the value is being created.
+	 */
+	public T getIfPresent() {
+		return ref.get();
+	}
+}
\ No newline at end of file
@@ -29,7 +29,10 @@ import java.awt.image.BufferedImage;
 import de.amr.games.pacman.lib.math.Vector2i;
 
 /**
- * A spritesheet.
+ * A spritesheet. The tiles of the raster grid covering the sprite area are sliced when the sheet is created, i.e. on
+ * the loader thread, into separate compact images kept in a flat array. So {@link #tile(int, int)} is a simple array
+ * lookup and each sprite can be cached by Java2D on its own. Sub-images sharing the raster of the sheet would prevent
+ * that. Other areas of the sheet image, like the mazes, are not part of the grid.
  * 
  * @author Armin Reichert
  */
@@ -37,14 +40,54 @@ public class Spritesheet {
 
 	public final BufferedImage image;
 	public final int raster;
+	private final int originX;
+	private final int originY;
+	private final int numCols;
+	private final int numRows;
+	private final BufferedImage[] tiles;
 
+	/**
+	 * Creates a sheet whose raster grid covers the complete image.
+	 * 
+	 * @param image  sheet image
+	 * @param pixels raster size
+	 */
 	public Spritesheet(BufferedImage image, int pixels) {
+		this(image, pixels, 0, 0, image.getWidth() / pixels, image.getHeight() / pixels);
+	}
+
+	/**
+	 * @param image   sheet image
+	 * @param pixels  raster size
+	 * @param originX left position of the raster grid inside the image
+	 * @param originY top position of the raster grid inside the image
+	 * @param numCols number of grid columns, all tiles of the grid are sliced
+	 * @param numRows number of grid rows
+	 */
+	public Spritesheet(BufferedImage image, int pixels, int originX, int originY, int numCols, int numRows) {
+		if (originX + numCols * pixels > image.getWidth() || originY + numRows * pixels > image.getHeight()) {
+			throw new IllegalArgumentException("Grid of %d x %d tiles exceeds sheet image".formatted(numCols, numRows));
+		}
 		this.image = image;
-		raster = pixels;
+		this.raster = pixels;
+		this.originX = originX;
+		this.originY = originY;
+		this.numCols = numCols;
+		this.numRows = numRows;
+		tiles = new BufferedImage[numCols * numRows];
+		for (int row = 0; row < numRows; ++row) {
+			for (int col = 0; col < numCols; ++col) {
+				tiles[row * numCols + col] = si(originX + col * raster, originY + row * raster, raster, raster);
+			}
+		}
 	}
 
+	/**
+	 * @return compact copy of the given region of the sheet image in screen compatible format. Use at load time, not per
+	 *         frame.
+	 */
 	public BufferedImage si(int x, int y, int width, int height) {
-		return image.getSubimage(x, y, width, height);
+		return ManagedImages.compatible(image.getSubimage(x, y, width, height));
 	}
 
 	public BufferedImage tilesFrom(int x, int y, int tileX, int tileY, int numTilesX, int numTilesY) {
@@ -52,31 +95,42 @@ public class Spritesheet {
 	}
 
 	public BufferedImage tiles(int tileX, int tileY, int numTilesX, int numTilesY) {
-		return tilesFrom(0, 0, tileX, tileY, numTilesX, numTilesY);
+		return tilesFrom(originX, originY, tileX, tileY, numTilesX, numTilesY);
 	}
 
 	public BufferedImage tile(int tileX, int tileY) {
-		return tiles(tileX, tileY, 1, 1);
+		if (tileX < 0 || tileX >= numCols || tileY < 0 || tileY >= numRows) {
+			throw new IllegalArgumentException("Tile (%d,%d) is outside of sheet grid".formatted(tileX, tileY));
+		}
+		return tiles[tileY * numCols + tileX];
 	}
 
 	public BufferedImage tile(Vector2i tile) {
 		return tile(tile.x(), tile.y());
 	}
 
+	/**
+	 * Replaces the border color by white and the fill color by black. The pixels are read and written in bulk as an
+	 * <code>int[]</code> of an unmanaged work image which is then converted into screen compatible format, so the result
+	 * stays managed. Thread-safe, intended to be called once per maze at load time.
+	 */
 	public BufferedImage createBrightEffect(BufferedImage src, Color borderColor, Color fillColor) {
-		BufferedImage dst = new BufferedImage(src.getWidth(), src.getHeight(), src.getType());
-		dst.getGraphics().drawImage(src, 0, 0, null);
-		for (int x = 0; x < src.getWidth(); ++x) {
-			for (int y = 0; y < src.getHeight(); ++y) {
-				if (src.getRGB(x, y) == borderColor.getRGB()) {
-					dst.setRGB(x, y, Color.WHITE.getRGB());
-				} else if (src.getRGB(x, y) == fillColor.getRGB()) {
-					dst.setRGB(x, y, Color.BLACK.getRGB());
-				} else {
-					dst.setRGB(x, y, src.getRGB(x, y));
-				}
+		int width = src.getWidth();
+		int height = src.getHeight();
+		int[] pixels = src.getRGB(0, 0, width, height, null, 0, width);
+		int border = borderColor.getRGB();
+		int fill = fillColor.getRGB();
+		int white = Color.WHITE.getRGB();
+		int black = Color.BLACK.getRGB();
+		for (int i = 0; i < pixels.length; ++i) {
+			if (pixels[i] == border) {
+				pixels[i] = white;
+			} else if (pixels[i] == fill) {
+				pixels[i] = black;
 			}
 		}
-		return dst;
+		BufferedImage dst = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		dst.setRGB(0, 0, width, height, pixels, 0, width);
+		return ManagedImages.compatible(dst);
 	}
 }
\ No newline at end of file
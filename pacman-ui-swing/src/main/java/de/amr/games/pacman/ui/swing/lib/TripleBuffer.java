@@ -0,0 +1,132 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.lib;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free triple buffer for handing over data from exactly one producer thread to exactly one consumer thread.
+ * <p>
+ * The producer fills {@link #back()} and calls {@link #publish()}, the consumer takes the most recently published
+ * buffer with {@link #swapFront()} or {@link #awaitFresh(long)} and reads it via {@link #front()}. Neither side ever
+ * waits for the other. If the producer publishes again before the consumer has taken the previous buffer, that buffer
+ * is dropped and counted.
+ * 
+ * @param <T> buffer type
+ * 
+ * @author Armin Reichert
+ */
+public class TripleBuffer<T> {
+
+	private static final int INDEX_MASK = 0b011;
+	private static final int FRESH = 0b100;
+
+	private final Object[] buffers = new Object[3];
+	private final AtomicInteger middle = new AtomicInteger(1);
+	private int back = 0; // owned by producer
+	private int front = 2; // owned by consumer
+	private volatile Thread consumer;
+	private volatile long droppedCount;
+
+	public TripleBuffer(Supplier<T> factory) {
+		for (int i = 0; i < buffers.length; ++i) {
+			buffers[i] = factory.get();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private T buffer(int index) {
+		return (T) buffers[index];
+	}
+
+	/**
+	 * @return the buffer owned by the producer
+	 */
+	public T back() {
+		return buffer(back);
+	}
+
+	/**
+	 * Makes the back buffer available to the consumer. Called by the producer only.
+	 */
+	public void publish() {
+		int previous = middle.getAndSet(back | FRESH);
+		if ((previous & FRESH) != 0) {
+			droppedCount++; // single writer
+		}
+		back = previous & INDEX_MASK;
+		var waiting = consumer;
+		if (waiting != null) {
+			LockSupport.unpark(waiting);
+		}
+	}
+
+	/**
+	 * @return the buffer owned by the consumer
+	 */
+	public T front() {
+		return buffer(front);
+	}
+
+	/**
+	 * Takes the most recently published buffer, if any. Called by the consumer only.
+	 * 
+	 * @return {@code true} if a new buffer has been taken and is now available via {@link #front()}
+	 */
+	public boolean swapFront() {
+		if ((middle.get() & FRESH) == 0) {
+			return false;
+		}
+		front = middle.getAndSet(front) & INDEX_MASK;
+		return true;
+	}
+
+	/**
+	 * Blocks the consumer until a new buffer has been published or the timeout has elapsed.
+	 * 
+	 * @param timeoutNanos maximum waiting time in nanoseconds
+	 * @return the new front buffer or {@code null} if nothing has been published in time
+	 */
+	public T awaitFresh(long timeoutNanos) {
+		consumer = Thread.currentThread();
+		long deadline = System.nanoTime() + timeoutNanos;
+		while (!swapFront()) {
+			long remaining = deadline - System.nanoTime();
+			if (remaining <= 0 || Thread.currentThread().isInterrupted()) {
+				return null;
+			}
+			LockSupport.parkNanos(this, remaining);
+		}
+		return front();
+	}
+
+	/**
+	 * @return number of published buffers which have been overwritten before the consumer took them
+	 */
+	public long getDroppedCount() {
+		return droppedCount;
+	}
+}
\ No newline at end of file
@@ -27,6 +27,8 @@ import java.awt.Font;
 import java.awt.image.BufferedImage;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.imageio.ImageIO;
 import javax.swing.Timer;
@@ -36,6 +38,8 @@ import javax.swing.Timer;
  */
 public class Ujfc {
 
+	private static final Map<String, Font> fonts = new ConcurrentHashMap<>();
+
 	private Ujfc() {
 	}
 
@@ -43,17 +47,30 @@ public class Ujfc {
 		return Ujfc.class.getResource(path);
 	}
 
+	/**
+	 * @param path resource path
+	 * @return image converted into the screen compatible format, see {@link ManagedImages}
+	 */
 	public static BufferedImage image(String path) {
 		try (InputStream is = url(path).openStream()) {
-			return ImageIO.read(is);
+			return ManagedImages.register(path, ManagedImages.compatible(ImageIO.read(is)));
 		} catch (Exception x) {
 			throw new AssetException("Could not load image with path '%s'", path);
 		}
 	}
 
+	/**
+	 * @param fontPath resource path
+	 * @param size     font size
+	 * @return font of the given size. Each font file is loaded only once, also when requested concurrently.
+	 */
 	public static Font font(String fontPath, int size) {
+		return fonts.computeIfAbsent(fontPath, Ujfc::loadFont).deriveFont((float) size);
+	}
+
+	private static Font loadFont(String fontPath) {
 		try (InputStream fontData = url(fontPath).openStream()) {
-			return Font.createFont(Font.TRUETYPE_FONT, fontData).deriveFont((float) size);
+			return Font.createFont(Font.TRUETYPE_FONT, fontData);
 		} catch (Exception x) {
 			throw new AssetException("Could not load font with path '%s'", fontPath);
 		}
@@ -0,0 +1,133 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.rendering.common;
+
+import static de.amr.games.pacman.model.common.world.World.HTS;
+import static de.amr.games.pacman.model.common.world.World.TS;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import de.amr.games.pacman.model.common.actors.Entity;
+
+/**
+ * Sprites of the moving actors of a scene together with their positions in the current and the previous simulation
+ * tick. The render thread draws them at positions interpolated between the two ticks, so motion stays smooth when the
+ * display runs at a higher rate than the simulation.
+ * 
+ * @author Armin Reichert
+ */
+public class ActorSprites {
+
+	/** Maximum number of actor sprites and upper bound (exclusive) of actor IDs. */
+	public static final int CAPACITY = 8;
+
+	/** Movements longer than this (e.g. through a tunnel or after placing at a tile) are not interpolated. */
+	private static final float MAX_INTERPOLATED_STEP = 2 * TS;
+
+	/**
+	 * Remembers the actor positions of the previous tick on the producer side.
+	 */
+	public static class Trails {
+
+		private final float[] lastX = new float[CAPACITY];
+		private final float[] lastY = new float[CAPACITY];
+		private final long[] lastTick = new long[CAPACITY];
+
+		/**
+		 * Sets the previous positions of the given sprites and remembers their current positions for the next tick.
+		 * 
+		 * @param sprites sprites collected for the given tick
+		 * @param tick    simulation tick
+		 */
+		public void link(ActorSprites sprites, long tick) {
+			for (int i = 0; i < sprites.count; ++i) {
+				int id = sprites.ids[i];
+				float x = sprites.x[i];
+				float y = sprites.y[i];
+				if (lastTick[id] == tick - 1 && Math.abs(x - lastX[id]) <= MAX_INTERPOLATED_STEP
+						&& Math.abs(y - lastY[id]) <= MAX_INTERPOLATED_STEP) {
+					sprites.prevX[i] = lastX[id];
+					sprites.prevY[i] = lastY[id];
+				}
+				lastX[id] = x;
+				lastY[id] = y;
+				lastTick[id] = tick;
+			}
+		}
+	}
+
+	private final int[] ids = new int[CAPACITY];
+	private final BufferedImage[] images = new BufferedImage[CAPACITY];
+	private final float[] x = new float[CAPACITY];
+	private final float[] y = new float[CAPACITY];
+	private final float[] prevX = new float[CAPACITY];
+	private final float[] prevY = new float[CAPACITY];
+	private int count;
+
+	public void clear() {
+		for (int i = 0; i < count; ++i) {
+			images[i] = null;
+		}
+		count = 0;
+	}
+
+	public int count() {
+		return count;
+	}
+
+	/**
+	 * Adds the sprite of the given entity, centered over its tile box like {@link Rendering2D#drawEntity}.
+	 * 
+	 * @param id     actor ID in range <code>[0, CAPACITY)</code>, stable over ticks
+	 * @param entity the entity
+	 * @param sprite the sprite to draw, may be {@code null}
+	 */
+	public void add(int id, Entity entity, BufferedImage sprite) {
+		if (sprite == null || !entity.isVisible() || count == CAPACITY) {
+			return;
+		}
+		ids[count] = id;
+		images[count] = sprite;
+		x[count] = prevX[count] = (int) entity.position().x() + HTS - sprite.getWidth() / 2;
+		y[count] = prevY[count] = (int) entity.position().y() + HTS - sprite.getHeight() / 2;
+		++count;
+	}
+
+	/**
+	 * Draws the sprites at their interpolated positions.
+	 * 
+	 * @param g     graphics context
+	 * @param alpha interpolation factor, 0 = previous tick, 1 = current tick
+	 */
+	public void draw(Graphics2D g, float alpha) {
+		for (int i = 0; i < count; ++i) {
+			double dx = prevX[i] + (x[i] - prevX[i]) * alpha;
+			double dy = prevY[i] + (y[i] - prevY[i]) * alpha;
+			g.translate(dx, dy);
+			g.drawImage(images[i], 0, 0, null);
+			g.translate(-dx, -dy);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.rendering.common;
+
+import de.amr.games.pacman.lib.math.Vector2i;
+import de.amr.games.pacman.model.common.world.ArcadeWorld;
+
+/**
+ * Shared tile vectors of the arcade world grid, so per-tile loops in the render path do not allocate a new vector for
+ * each tile.
+ * 
+ * @author Armin Reichert
+ */
+public class ArcadeTiles {
+
+	private static final int NUM_COLS = ArcadeWorld.SIZE_TILES.x();
+	private static final int NUM_ROWS = ArcadeWorld.SIZE_TILES.y();
+	private static final Vector2i[] TILES = new Vector2i[NUM_COLS * NUM_ROWS];
+
+	static {
+		for (int row = 0; row < NUM_ROWS; ++row) {
+			for (int col = 0; col < NUM_COLS; ++col) {
+				TILES[row * NUM_COLS + col] = new Vector2i(col, row);
+			}
+		}
+	}
+
+	private ArcadeTiles() {
+	}
+
+	/**
+	 * @param col column index
+	 * @param row row index
+	 * @return the tile vector, shared if inside the arcade world grid, else a new vector
+	 */
+	public static Vector2i tile(int col, int row) {
+		if (0 <= col && col < NUM_COLS && 0 <= row && row < NUM_ROWS) {
+			return TILES[row * NUM_COLS + col];
+		}
+		return new Vector2i(col, row);
+	}
+}
\ No newline at end of file
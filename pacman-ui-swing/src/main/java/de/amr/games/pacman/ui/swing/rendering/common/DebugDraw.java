@@ -32,76 +32,131 @@ import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
 
 import de.amr.games.pacman.controller.common.GameController;
 import de.amr.games.pacman.controller.common.GameState;
-import de.amr.games.pacman.lib.math.Vector2f;
 import de.amr.games.pacman.lib.math.Vector2i;
+import de.amr.games.pacman.model.common.actors.Ghost;
 import de.amr.games.pacman.model.common.world.World;
+import de.amr.games.pacman.ui.swing.lib.ManagedImages;
 
 /**
+ * Debug overlay of the play scene. The static maze structure (intersections, ghost house) is rendered once per world
+ * into a translucent image, the state text shows times in whole seconds and is only re-formatted when one of its
+ * displayed values has changed, i.e. at most once per second.
+ * 
  * @author Armin Reichert
  */
 public class DebugDraw {
 
-	private DebugDraw() {
-	}
+	private static final Color[] GHOST_COLORS = { Color.RED, Color.PINK, Color.CYAN, Color.ORANGE };
+	private static final Color PAC_TARGET_COLOR = new Color(255, 255, 0, 200);
+	private static final Color INTERSECTION_COLOR = new Color(80, 80, 80);
+	private static final Color GHOST_HOUSE_COLOR = new Color(100, 100, 100, 100);
+	private static final BasicStroke TARGET_LINE_STROKE = new BasicStroke(0.5f);
+	private static final Font FONT = new Font("Arial", Font.PLAIN, 6);
+
+	private static final int NO_PHASE = 0;
+	private static final int SCATTERING = 1;
+	private static final int CHASING = 2;
+
+	private static final int TICKS_PER_SECOND = 60;
+
+	private World structureWorld;
+	private BufferedImage structureImage;
+
+	private String stateText;
+	private GameState textState;
+	private int textPhaseKind;
+	private int textPhase;
+	private long textSeconds;
 
-	public static void drawPlaySceneDebugInfo(Graphics2D g, GameController controller) {
-		final Color[] ghostColors = { Color.RED, Color.PINK, Color.CYAN, Color.ORANGE };
-		var game = controller.game();
+	public void drawPlaySceneDebugInfo(Graphics2D g, GameController controller) {
+		var level = controller.game().level();
+		if (level.isEmpty()) {
+			return;
+		}
+		var lvl = level.get();
 		var state = controller.state();
-		game.level().ifPresent(level -> {
-			var huntingTimer = level.huntingTimer();
-			String stateText;
-			if (state == GameState.HUNTING && level.scatterPhase().isPresent()) {
-				var ticks = huntingTimer.remaining();
-				stateText = "Scattering phase %d Remaining: %s".formatted(level.scatterPhase().getAsInt(),
-						ticksToString(ticks));
-			} else if (state == GameState.HUNTING && level.chasingPhase().isPresent()) {
-				var ticks = huntingTimer.remaining();
-				stateText = "Chasing phase %d Remaining: %s".formatted(level.chasingPhase().getAsInt(), ticksToString(ticks));
-			} else {
-				var ticks = state.timer().tick();
-				stateText = "State %s Running: %s".formatted(state, ticksToString(ticks));
-			}
+		if (state == GameState.HUNTING && lvl.scatterPhase().isPresent()) {
+			updateStateText(state, SCATTERING, lvl.scatterPhase().getAsInt(), lvl.huntingTimer().remaining());
+		} else if (state == GameState.HUNTING && lvl.chasingPhase().isPresent()) {
+			updateStateText(state, CHASING, lvl.chasingPhase().getAsInt(), lvl.huntingTimer().remaining());
+		} else {
+			updateStateText(state, NO_PHASE, 0, state.timer().tick());
+		}
+		g.setColor(Color.WHITE);
+		g.setFont(FONT);
+		g.drawString(stateText, t(1), t(3));
+		g.setStroke(TARGET_LINE_STROKE);
+		for (byte id = Ghost.ID_RED_GHOST; id <= Ghost.ID_ORANGE_GHOST; ++id) {
+			var ghost = lvl.ghost(id);
+			int x = (int) ghost.position().x();
+			int y = (int) ghost.position().y();
 			g.setColor(Color.WHITE);
-			g.setFont(new Font("Arial", Font.PLAIN, 6));
-			g.drawString(stateText, t(1), t(3));
-			level.ghosts().forEach(ghost -> {
-				g.setColor(Color.WHITE);
-				g.drawRect((int) ghost.position().x(), (int) ghost.position().y(), TS, TS);
-				ghost.targetTile().ifPresent(targetTile -> {
-					Color c = ghostColors[ghost.id()];
-					g.setColor(c);
-					g.fillRect(t(targetTile.x()) + HTS / 2, t(targetTile.y()) + HTS / 2, HTS, HTS);
-					g.setStroke(new BasicStroke(0.5f));
-					Vector2f targetPosition = targetTile.scaled(TS).plus(HTS, HTS).toFloatVec();
-					g.drawLine((int) ghost.position().x(), (int) ghost.position().y(), (int) targetPosition.x(),
-							(int) targetPosition.y());
-				});
-			});
-			level.pac().targetTile().ifPresent(targetTile -> {
-				g.setColor(new Color(255, 255, 0, 200));
-				g.fillRect(t(targetTile.x()), t(targetTile.y()), TS, TS);
-			});
-		});
+			g.drawRect(x, y, TS, TS);
+			var targetTile = ghost.targetTile();
+			if (targetTile.isPresent()) {
+				int tx = t(targetTile.get().x());
+				int ty = t(targetTile.get().y());
+				g.setColor(GHOST_COLORS[id]);
+				g.fillRect(tx + HTS / 2, ty + HTS / 2, HTS, HTS);
+				g.drawLine(x, y, tx + HTS, ty + HTS);
+			}
+		}
+		var pacTargetTile = lvl.pac().targetTile();
+		if (pacTargetTile.isPresent()) {
+			g.setColor(PAC_TARGET_COLOR);
+			g.fillRect(t(pacTargetTile.get().x()), t(pacTargetTile.get().y()), TS, TS);
+		}
+	}
+
+	private void updateStateText(GameState state, int phaseKind, int phase, long ticks) {
+		boolean indefinite = ticks < 0 || ticks == Long.MAX_VALUE;
+		long seconds = indefinite ? -1 : ticks / TICKS_PER_SECOND;
+		if (stateText != null && state == textState && phaseKind == textPhaseKind && phase == textPhase
+				&& seconds == textSeconds) {
+			return;
+		}
+		var time = indefinite ? ticksToString(ticks) : seconds + " sec";
+		stateText = switch (phaseKind) {
+		case SCATTERING -> "Scattering phase %d Remaining: %s".formatted(phase, time);
+		case CHASING -> "Chasing phase %d Remaining: %s".formatted(phase, time);
+		default -> "State %s Running: %s".formatted(state, time);
+		};
+		textState = state;
+		textPhaseKind = phaseKind;
+		textPhase = phase;
+		textSeconds = seconds;
+	}
+
+	public void drawMazeStructure(Graphics2D g, World world) {
+		if (world != structureWorld) {
+			structureImage = renderMazeStructure(world);
+			structureWorld = world;
+		}
+		g.drawImage(structureImage, 0, 0, null);
 	}
 
-	public static void drawMazeStructure(Graphics2D g, World world) {
-		Color dark = new Color(80, 80, 80);
+	private static BufferedImage renderMazeStructure(World world) {
+		var image = ManagedImages.createImage(world.numCols() * TS, world.numRows() * TS, Transparency.TRANSLUCENT);
+		var g = image.createGraphics();
 		for (int x = 0; x < world.numCols(); ++x) {
 			for (int y = 0; y < world.numRows(); ++y) {
-				Vector2i tile = new Vector2i(x, y);
+				Vector2i tile = ArcadeTiles.tile(x, y);
 				if (world.isIntersection(tile)) {
-					g.setColor(dark);
+					g.setColor(INTERSECTION_COLOR);
 					g.drawOval(t(x), t(y), TS, TS);
 				}
 				if (world.ghostHouse().contains(tile)) {
-					g.setColor(new Color(100, 100, 100, 100));
+					g.setColor(GHOST_HOUSE_COLOR);
 					g.fillRect(t(x) + 1, t(y) + 1, TS - 2, TS - 2);
 				}
 			}
 		}
+		g.dispose();
+		return image;
 	}
 }
\ No newline at end of file
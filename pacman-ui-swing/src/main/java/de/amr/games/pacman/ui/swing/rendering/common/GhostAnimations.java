@@ -24,20 +24,46 @@ SOFTWARE.
 package de.amr.games.pacman.ui.swing.rendering.common;
 
 import de.amr.games.pacman.lib.anim.EntityAnimationMap;
+import de.amr.games.pacman.lib.steering.Direction;
 import de.amr.games.pacman.model.common.GameModel;
 import de.amr.games.pacman.model.common.actors.Ghost;
 
 /**
+ * Animations of a ghost. Can be rebound to another ghost with the same ID, so the animations of a level are reused by
+ * the next level.
+ * 
  * @author Armin Reichert
  */
 public class GhostAnimations extends EntityAnimationMap {
 
+	private Ghost ghost;
+
 	public GhostAnimations(Ghost ghost, Rendering2D r2D) {
-		put(GameModel.AK_GHOST_EYES, r2D.createGhostEyesAnimationMap(ghost));
+		this.ghost = ghost;
+		put(GameModel.AK_GHOST_EYES, r2D.createGhostEyesAnimationMap(this::wishDir));
 		put(GameModel.AK_GHOST_FLASHING, r2D.createGhostFlashingAnimation());
 		put(GameModel.AK_GHOST_BLUE, r2D.createGhostBlueAnimation());
-		put(GameModel.AK_GHOST_COLOR, r2D.createGhostColorAnimationMap(ghost));
+		put(GameModel.AK_GHOST_COLOR, r2D.createGhostColorAnimationMap(ghost.id(), this::wishDir));
 		put(GameModel.AK_GHOST_VALUE, r2D.createGhostValueList());
 		select(GameModel.AK_GHOST_COLOR);
 	}
+
+	private Direction wishDir() {
+		return ghost.wishDir();
+	}
+
+	/**
+	 * Binds these animations to the given ghost and resets them to their initial state.
+	 * 
+	 * @param ghost the animated ghost, must have the same ID as the ghost these animations were created for
+	 */
+	public void bind(Ghost ghost) {
+		if (ghost.id() != this.ghost.id()) {
+			throw new IllegalArgumentException(
+					"Animations of ghost %d cannot be bound to ghost %d".formatted(this.ghost.id(), ghost.id()));
+		}
+		this.ghost = ghost;
+		reset();
+		select(GameModel.AK_GHOST_COLOR);
+	}
 }
\ No newline at end of file
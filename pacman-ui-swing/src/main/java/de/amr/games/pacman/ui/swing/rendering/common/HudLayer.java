@@ -0,0 +1,129 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.rendering.common;
+
+import static de.amr.games.pacman.model.common.world.World.t;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+import de.amr.games.pacman.model.common.world.ArcadeWorld;
+import de.amr.games.pacman.ui.swing.lib.ManagedImages;
+
+/**
+ * Retained head-up display of the play scene: scores at the top, lives or credit and level counter at the bottom.
+ * <p>
+ * The HUD is kept in two small opaque images for the rows above and below the maze. They are re-rendered only if one
+ * of the displayed values has changed since the last frame, otherwise each strip is a single image blit. The values
+ * are taken from a {@link HudValues} copy, not from the game model, so the HUD can be drawn by the render thread.
+ * 
+ * @author Armin Reichert
+ */
+public class HudLayer {
+
+	private static final int TOP_STRIP_HEIGHT = t(3);
+	private static final int BOTTOM_STRIP_HEIGHT = t(2);
+	private static final int BOTTOM_STRIP_Y = t(ArcadeWorld.SIZE_TILES.y()) - BOTTOM_STRIP_HEIGHT;
+
+	private final BufferedImage topStrip;
+	private final BufferedImage bottomStrip;
+
+	private boolean valid;
+	private Rendering2D r2D;
+	private boolean highScoreOnly;
+	private final HudValues values = new HudValues();
+
+	public HudLayer() {
+		int width = ArcadeWorld.SIZE_PX.x();
+		topStrip = ManagedImages.register("HUD top strip",
+				ManagedImages.createImage(width, TOP_STRIP_HEIGHT, Transparency.OPAQUE));
+		bottomStrip = ManagedImages.register("HUD bottom strip",
+				ManagedImages.createImage(width, BOTTOM_STRIP_HEIGHT, Transparency.OPAQUE));
+	}
+
+	/**
+	 * Forces re-rendering in the next frame.
+	 */
+	public void invalidate() {
+		valid = false;
+	}
+
+	/**
+	 * Draws the HUD, re-rendering it first if any displayed value has changed.
+	 * 
+	 * @param g             graphics
+	 * @param r2D           rendering
+	 * @param hud           displayed values
+	 * @param highScoreOnly if only the high score is displayed
+	 */
+	public void draw(Graphics2D g, Rendering2D r2D, HudValues hud, boolean highScoreOnly) {
+		if (!valid | update(r2D, hud, highScoreOnly)) {
+			render();
+			valid = true;
+		}
+		g.drawImage(topStrip, 0, 0, null);
+		g.drawImage(bottomStrip, 0, BOTTOM_STRIP_Y, null);
+	}
+
+	/**
+	 * Copies the displayed values.
+	 * 
+	 * @return {@code true} if any value has changed
+	 */
+	private boolean update(Rendering2D r2D, HudValues hud, boolean highScoreOnly) {
+		boolean changed = false;
+		if (r2D != this.r2D || highScoreOnly != this.highScoreOnly) {
+			this.r2D = r2D;
+			this.highScoreOnly = highScoreOnly;
+			changed = true;
+		}
+		if (values.update(hud)) {
+			changed = true;
+		}
+		return changed;
+	}
+
+	private void render() {
+		var g = topStrip.createGraphics();
+		g.setColor(Color.BLACK);
+		g.fillRect(0, 0, topStrip.getWidth(), topStrip.getHeight());
+		r2D.drawScores(g, values.scorePoints(), values.scoreLevel(), values.highScorePoints(), values.highScoreLevel(),
+				highScoreOnly);
+		g.dispose();
+
+		g = bottomStrip.createGraphics();
+		g.setColor(Color.BLACK);
+		g.fillRect(0, 0, bottomStrip.getWidth(), bottomStrip.getHeight());
+		g.translate(0, -BOTTOM_STRIP_Y);
+		if (values.hasCredit()) {
+			r2D.drawLivesCounter(g, values.livesDisplayed());
+		} else {
+			r2D.drawCredit(g, values.credit());
+		}
+		r2D.drawLevelCounter(g, values);
+		g.dispose();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,195 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.rendering.common;
+
+import java.util.Arrays;
+import java.util.List;
+
+import de.amr.games.pacman.model.common.GameModel;
+
+/**
+ * The values shown by a head-up display: scores, lives or credit and level counter. Used to detect if a retained HUD
+ * image must be re-rendered, each value is compared to its last seen value. Also used as the HUD part of a render
+ * snapshot, copied from the game model on the game loop thread and drawn from by the render thread.
+ * 
+ * @author Armin Reichert
+ */
+public class HudValues {
+
+	private long scorePoints = -1;
+	private int scoreLevel = -1;
+	private long highScorePoints = -1;
+	private int highScoreLevel = -1;
+	private boolean hasCredit;
+	private int livesDisplayed = -1;
+	private int credit = -1;
+	private byte[] levelCounter = new byte[8];
+	private int levelCounterSize = -1;
+
+	/**
+	 * Copies the displayed values from the game model.
+	 * 
+	 * @param game game model
+	 * @return {@code true} if any value has changed since the last update
+	 */
+	public boolean update(GameModel game) {
+		var score = game.score();
+		var highScore = game.highScore();
+		boolean changed = setScores(score.isPresent() ? score.get().points() : -1,
+				score.isPresent() ? score.get().levelNumber() : -1, highScore.isPresent() ? highScore.get().points() : -1,
+				highScore.isPresent() ? highScore.get().levelNumber() : -1);
+		int lives = game.isOneLessLifeDisplayed() ? game.lives() - 1 : game.lives();
+		if (setCounters(game.hasCredit(), lives, game.credit())) {
+			changed = true;
+		}
+		if (levelCounterChanged(game.levelCounter())) {
+			changed = true;
+		}
+		return changed;
+	}
+
+	/**
+	 * Copies the given values.
+	 * 
+	 * @param values other HUD values
+	 * @return {@code true} if any value has changed since the last update
+	 */
+	public boolean update(HudValues values) {
+		boolean changed = setScores(values.scorePoints, values.scoreLevel, values.highScorePoints, values.highScoreLevel);
+		if (setCounters(values.hasCredit, values.livesDisplayed, values.credit)) {
+			changed = true;
+		}
+		if (levelCounterChanged(values.levelCounter, values.levelCounterSize)) {
+			changed = true;
+		}
+		return changed;
+	}
+
+	private boolean setScores(long points, int level, long highPoints, int highLevel) {
+		boolean changed = false;
+		if (points != scorePoints || level != scoreLevel) {
+			scorePoints = points;
+			scoreLevel = level;
+			changed = true;
+		}
+		if (highPoints != highScorePoints || highLevel != highScoreLevel) {
+			highScorePoints = highPoints;
+			highScoreLevel = highLevel;
+			changed = true;
+		}
+		return changed;
+	}
+
+	private boolean setCounters(boolean credited, int lives, int creditValue) {
+		if (credited != hasCredit || lives != livesDisplayed || creditValue != credit) {
+			hasCredit = credited;
+			livesDisplayed = lives;
+			credit = creditValue;
+			return true;
+		}
+		return false;
+	}
+
+	private boolean levelCounterChanged(List<Byte> counter) {
+		boolean changed = counter.size() != levelCounterSize;
+		ensureLevelCounterCapacity(counter.size());
+		for (int i = 0; i < counter.size(); ++i) {
+			byte symbol = counter.get(i);
+			if (symbol != levelCounter[i]) {
+				levelCounter[i] = symbol;
+				changed = true;
+			}
+		}
+		levelCounterSize = counter.size();
+		return changed;
+	}
+
+	private boolean levelCounterChanged(byte[] symbols, int size) {
+		boolean changed = size != levelCounterSize;
+		ensureLevelCounterCapacity(size);
+		for (int i = 0; i < size; ++i) {
+			if (symbols[i] != levelCounter[i]) {
+				levelCounter[i] = symbols[i];
+				changed = true;
+			}
+		}
+		levelCounterSize = size;
+		return changed;
+	}
+
+	private void ensureLevelCounterCapacity(int size) {
+		if (size > levelCounter.length) {
+			levelCounter = Arrays.copyOf(levelCounter, size);
+		}
+	}
+
+	/**
+	 * @return score points, -1 if there is no score
+	 */
+	public long scorePoints() {
+		return scorePoints;
+	}
+
+	public int scoreLevel() {
+		return scoreLevel;
+	}
+
+	/**
+	 * @return high score points, -1 if there is no high score
+	 */
+	public long highScorePoints() {
+		return highScorePoints;
+	}
+
+	public int highScoreLevel() {
+		return highScoreLevel;
+	}
+
+	public int livesDisplayed() {
+		return livesDisplayed;
+	}
+
+	public int levelCounterSize() {
+		return Math.max(0, levelCounterSize);
+	}
+
+	/**
+	 * @param i index in range <code>[0, levelCounterSize())</code>
+	 * @return bonus symbol of the level counter at the given index
+	 */
+	public byte levelCounterSymbol(int i) {
+		return levelCounter[i];
+	}
+
+	/**
+	 * @return if the credit is shown instead of the lives
+	 */
+	public boolean hasCredit() {
+		return hasCredit;
+	}
+
+	public int credit() {
+		return credit;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,166 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.rendering.common;
+
+import static de.amr.games.pacman.model.common.world.World.TS;
+import static de.amr.games.pacman.model.common.world.World.t;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.BitSet;
+
+import de.amr.games.pacman.lib.math.Vector2i;
+import de.amr.games.pacman.model.common.world.World;
+import de.amr.games.pacman.ui.swing.lib.ManagedImages;
+
+/**
+ * Cached image of the maze of the current level. Eaten food is erased only from the tiles which have been marked dirty
+ * since the last frame, energizer blinking only repaints the energizer tiles. So the cost per frame is one image copy,
+ * independent of the amount of food eaten.
+ * <p>
+ * A full rebuild happens only when the world or maze changes or after {@link #invalidateAll()}.
+ * 
+ * @author Armin Reichert
+ */
+public class MazeLayer {
+
+	private static final int MAZE_TOP = t(3);
+
+	private final BitSet dirtyTiles = new BitSet();
+	private BufferedImage image;
+	private Graphics2D imageGraphics; // kept for the lifetime of the image, not created per frame
+	private BufferedImage pristineMaze;
+	private World world;
+	private int mazeNumber;
+	private Vector2i[] energizerTiles;
+	private boolean energizersVisible;
+	private boolean invalid = true;
+
+	/**
+	 * Marks a tile whose food has been eaten.
+	 * 
+	 * @param tile tile in world coordinates
+	 */
+	public void invalidate(Vector2i tile) {
+		if (world != null && world.insideBounds(tile)) {
+			dirtyTiles.set(index(tile));
+		}
+	}
+
+	/**
+	 * Forces a rebuild from the world state before the next frame, e.g. after a level start or a cheat which changes the
+	 * food without single food events.
+	 */
+	public void invalidateAll() {
+		invalid = true;
+	}
+
+	/**
+	 * Brings the layer up to date and draws it.
+	 * 
+	 * @param g                 graphics
+	 * @param r2D               rendering
+	 * @param world             world of current level
+	 * @param mazeNumber        maze number of current level
+	 * @param energizersVisible if energizers are visible in this frame
+	 */
+	public void draw(Graphics2D g, Rendering2D r2D, World world, int mazeNumber, boolean energizersVisible) {
+		if (invalid || world != this.world || mazeNumber != this.mazeNumber) {
+			rebuild(r2D, world, mazeNumber, energizersVisible);
+		} else {
+			if (energizersVisible != this.energizersVisible) {
+				toggleEnergizers(imageGraphics, energizersVisible);
+			}
+			eraseDirtyTiles(imageGraphics);
+		}
+		g.drawImage(image, 0, 0, null);
+	}
+
+	private void rebuild(Rendering2D r2D, World world, int mazeNumber, boolean energizersVisible) {
+		int width = world.numCols() * TS;
+		int height = world.numRows() * TS;
+		if (image == null || image.getWidth() != width || image.getHeight() != height) {
+			if (imageGraphics != null) {
+				imageGraphics.dispose();
+			}
+			image = ManagedImages.register("maze layer",
+					ManagedImages.createImage(width, height, Transparency.OPAQUE));
+			imageGraphics = image.createGraphics();
+		}
+		if (pristineMaze == null || world != this.world || mazeNumber != this.mazeNumber) {
+			pristineMaze = ManagedImages.createImage(width, height, Transparency.OPAQUE);
+			var pg = pristineMaze.createGraphics();
+			r2D.drawFullMaze(pg, mazeNumber, 0, MAZE_TOP);
+			pg.dispose();
+		}
+		this.world = world;
+		this.mazeNumber = mazeNumber;
+		this.energizerTiles = world.energizerTiles().toArray(Vector2i[]::new);
+		this.energizersVisible = energizersVisible;
+		imageGraphics.drawImage(pristineMaze, 0, 0, null);
+		r2D.drawDarkTiles(imageGraphics, world,
+				tile -> world.containsEatenFood(tile) || !energizersVisible && world.isEnergizerTile(tile));
+		dirtyTiles.clear();
+		invalid = false;
+	}
+
+	private void toggleEnergizers(Graphics2D lg, boolean visible) {
+		for (var tile : energizerTiles) {
+			if (!world.containsEatenFood(tile)) {
+				if (visible) {
+					restoreTile(lg, tile);
+				} else {
+					eraseTile(lg, tile);
+				}
+			}
+		}
+		energizersVisible = visible;
+	}
+
+	private void eraseDirtyTiles(Graphics2D lg) {
+		int cols = world.numCols();
+		for (int i = dirtyTiles.nextSetBit(0); i >= 0; i = dirtyTiles.nextSetBit(i + 1)) {
+			lg.setColor(Color.BLACK);
+			lg.fillRect((i % cols) * TS, (i / cols) * TS, TS, TS);
+		}
+		dirtyTiles.clear();
+	}
+
+	private void eraseTile(Graphics2D lg, Vector2i tile) {
+		lg.setColor(Color.BLACK);
+		lg.fillRect(tile.x() * TS, tile.y() * TS, TS, TS);
+	}
+
+	private void restoreTile(Graphics2D lg, Vector2i tile) {
+		int x = tile.x() * TS;
+		int y = tile.y() * TS;
+		lg.drawImage(pristineMaze, x, y, x + TS, y + TS, x, y, x + TS, y + TS, null);
+	}
+
+	private int index(Vector2i tile) {
+		return tile.y() * world.numCols() + tile.x();
+	}
+}
\ No newline at end of file
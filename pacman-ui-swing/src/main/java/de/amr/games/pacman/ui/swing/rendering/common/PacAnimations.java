@@ -26,17 +26,39 @@ package de.amr.games.pacman.ui.swing.rendering.common;
 
 import de.amr.games.pacman.lib.anim.EntityAnimation;
 import de.amr.games.pacman.lib.anim.EntityAnimationMap;
+import de.amr.games.pacman.lib.steering.Direction;
 import de.amr.games.pacman.model.common.GameModel;
 import de.amr.games.pacman.model.common.actors.Pac;
 
 /**
+ * Animations of Pac-Man or Ms. Pac-Man. Can be rebound to another Pac, so the animations of a level are reused by the
+ * next level.
+ * 
  * @author Armin Reichert
  */
 public class PacAnimations extends EntityAnimationMap {
 
+	private Pac pac;
+
 	public PacAnimations(Pac pac, Rendering2D r2D) {
+		this.pac = pac;
 		put(GameModel.AK_PAC_DYING, r2D.createPacDyingAnimation());
-		put(GameModel.AK_PAC_MUNCHING, r2D.createPacMunchingAnimationMap(pac));
+		put(GameModel.AK_PAC_MUNCHING, r2D.createPacMunchingAnimationMap(this::moveDir));
+		select(GameModel.AK_PAC_MUNCHING);
+	}
+
+	private Direction moveDir() {
+		return pac.moveDir();
+	}
+
+	/**
+	 * Binds these animations to the given Pac and resets them to their initial state.
+	 * 
+	 * @param pac the animated Pac
+	 */
+	public void bind(Pac pac) {
+		this.pac = pac;
+		reset();
 		select(GameModel.AK_PAC_MUNCHING);
 	}
 
@@ -33,7 +33,7 @@ import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.util.List;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
+import java.util.function.Supplier;
 
 import de.amr.games.pacman.controller.common.GameState;
 import de.amr.games.pacman.lib.anim.EntityAnimationByDirection;
@@ -47,8 +47,10 @@ import de.amr.games.pacman.model.common.actors.Entity;
 import de.amr.games.pacman.model.common.actors.Ghost;
 import de.amr.games.pacman.model.common.actors.Pac;
 import de.amr.games.pacman.model.common.world.ArcadeWorld;
+import de.amr.games.pacman.model.common.world.World;
 import de.amr.games.pacman.model.mspacman.MovingBonus;
 import de.amr.games.pacman.model.pacman.StaticBonus;
+import de.amr.games.pacman.ui.swing.lib.GlyphAtlas;
 
 /**
  * Spritesheet-based rendering for Pac-Man and Ms. Pac-Man game.
@@ -61,8 +63,27 @@ public interface Rendering2D {
 		CLOSED, OPEN, WIDE_OPEN
 	}
 
+	/** Bluish white of score and other texts. */
+	Color ARCADE_WHITE = new Color(222, 222, 255);
+
+	/** Colors of the texts drawn by both game variants besides the ghost colors. */
+	Color[] TEXT_COLORS = { ARCADE_WHITE, Color.WHITE, Color.YELLOW, Color.RED, Color.ORANGE };
+
+	/** Font of the "+n" label of the lives counter. */
+	Font LIVES_COUNTER_FONT = new Font(Font.SANS_SERIF, Font.BOLD, 6);
+
 	Font getArcadeFont();
 
+	/**
+	 * @return glyph atlas of the arcade font (8px)
+	 */
+	GlyphAtlas getArcadeGlyphs();
+
+	/**
+	 * @return glyph atlas of the small arcade font (6px) used for "PTS" labels
+	 */
+	GlyphAtlas getSmallArcadeGlyphs();
+
 	Color getGhostColor(int ghostID);
 
 	// Sprites
@@ -81,17 +102,22 @@ public interface Rendering2D {
 
 	SingleEntityAnimation<BufferedImage> createMazeFlashingAnimation(int mazeNumber);
 
-	EntityAnimationByDirection createPacMunchingAnimationMap(Pac pac);
+	/**
+	 * @param moveDir supplies the move direction of the animated Pac, may switch to another Pac (see
+	 *                {@link PacAnimations#bind(Pac)})
+	 * @return munching animation selecting the frames by move direction
+	 */
+	EntityAnimationByDirection createPacMunchingAnimationMap(Supplier<Direction> moveDir);
 
 	SingleEntityAnimation<BufferedImage> createPacDyingAnimation();
 
-	EntityAnimationByDirection createGhostColorAnimationMap(Ghost ghost);
+	EntityAnimationByDirection createGhostColorAnimationMap(int ghostID, Supplier<Direction> wishDir);
 
 	SingleEntityAnimation<BufferedImage> createGhostBlueAnimation();
 
 	SingleEntityAnimation<BufferedImage> createGhostFlashingAnimation();
 
-	EntityAnimationByDirection createGhostEyesAnimationMap(Ghost ghost);
+	EntityAnimationByDirection createGhostEyesAnimationMap(Supplier<Direction> wishDir);
 
 	FixedEntityAnimation<BufferedImage> createGhostValueList();
 
@@ -111,6 +137,10 @@ public interface Rendering2D {
 		g.drawString(text, x, y);
 	}
 
+	default void drawText(Graphics2D g, String text, Color color, GlyphAtlas glyphs, int x, int y) {
+		glyphs.drawText(g, text, color, x, y);
+	}
+
 	default void drawSprite(Graphics2D g, BufferedImage sprite, int x, int y) {
 		if (sprite != null) {
 			g.drawImage(sprite, x, y, null);
@@ -131,12 +161,34 @@ public interface Rendering2D {
 		}
 	}
 
+	// no capturing lambdas in the per-frame methods, they would allocate on each call
+
 	default void drawPac(Graphics2D g, Pac pac) {
-		pac.animation().ifPresent(animation -> drawEntity(g, pac, (BufferedImage) animation.frame()));
+		var animation = pac.animation();
+		if (animation.isPresent()) {
+			drawEntity(g, pac, (BufferedImage) animation.get().frame());
+		}
 	}
 
 	default void drawGhost(Graphics2D g, Ghost ghost) {
-		ghost.animation().ifPresent(animation -> drawEntity(g, ghost, (BufferedImage) animation.frame()));
+		var animation = ghost.animation();
+		if (animation.isPresent()) {
+			drawEntity(g, ghost, (BufferedImage) animation.get().frame());
+		}
+	}
+
+	default void addPac(ActorSprites sprites, int id, Pac pac) {
+		var animation = pac.animation();
+		if (animation.isPresent()) {
+			sprites.add(id, pac, (BufferedImage) animation.get().frame());
+		}
+	}
+
+	default void addGhost(ActorSprites sprites, int id, Ghost ghost) {
+		var animation = ghost.animation();
+		if (animation.isPresent()) {
+			sprites.add(id, ghost, (BufferedImage) animation.get().frame());
+		}
 	}
 
 	default void drawBonus(Graphics2D g, Bonus bonus) {
@@ -155,46 +207,71 @@ public interface Rendering2D {
 		}
 	}
 
-	default void drawDarkTiles(Graphics2D g, Stream<Vector2i> tiles, Predicate<Vector2i> fnDark) {
+	default void drawDarkTiles(Graphics2D g, World world, Predicate<Vector2i> fnDark) {
 		g.setColor(Color.BLACK);
-		tiles.filter(fnDark).forEach(tile -> g.fillRect(tile.x() * TS, tile.y() * TS, TS, TS));
+		for (int row = 0; row < world.numRows(); ++row) {
+			for (int col = 0; col < world.numCols(); ++col) {
+				if (fnDark.test(ArcadeTiles.tile(col, row))) {
+					g.fillRect(col * TS, row * TS, TS, TS);
+				}
+			}
+		}
 	}
 
 	default void drawCredit(Graphics2D g, int credit) {
-		g.setFont(getArcadeFont());
-		g.setColor(Color.WHITE);
-		g.drawString("CREDIT  %d".formatted(credit), t(2), t(ArcadeWorld.SIZE_TILES.y()) - 2);
+		var glyphs = getArcadeGlyphs();
+		int y = t(ArcadeWorld.SIZE_TILES.y()) - 2;
+		int x = glyphs.drawText(g, "CREDIT  ", Color.WHITE, t(2), y);
+		glyphs.drawNumber(g, credit, 0, Color.WHITE, x, y);
 	}
 
 	void drawCopyright(Graphics2D g, int x, int y);
 
 	default void drawScores(Graphics2D g, GameModel game, boolean showHiscoreOnly) {
-		g.setFont(getArcadeFont());
-		g.translate(0, 2);
-		g.setColor(new Color(222, 222, 255));
-		g.drawString("SCORE", t(1), t(1));
-		g.drawString("HIGH SCORE", t(15), t(1));
-		g.translate(0, 1);
+		var score = game.score();
+		var highScore = game.highScore();
+		drawScores(g, score.isPresent() ? score.get().points() : -1, score.isPresent() ? score.get().levelNumber() : -1,
+				highScore.isPresent() ? highScore.get().points() : -1,
+				highScore.isPresent() ? highScore.get().levelNumber() : -1, showHiscoreOnly);
+	}
+
+	/**
+	 * Draws the scores from the given values, e.g. those of a render snapshot.
+	 * 
+	 * @param g               graphics
+	 * @param scorePoints     score points, negative if there is no score
+	 * @param scoreLevel      level of the score
+	 * @param highScorePoints high score points, negative if there is no high score
+	 * @param highScoreLevel  level of the high score
+	 * @param showHiscoreOnly if only the high score is displayed
+	 */
+	default void drawScores(Graphics2D g, long scorePoints, int scoreLevel, long highScorePoints, int highScoreLevel,
+			boolean showHiscoreOnly) {
+		var glyphs = getArcadeGlyphs();
+		glyphs.drawText(g, "SCORE", ARCADE_WHITE, t(1), t(1) + 2);
+		glyphs.drawText(g, "HIGH SCORE", ARCADE_WHITE, t(15), t(1) + 2);
+		int y = t(2) + 3;
 		if (showHiscoreOnly) {
-			g.drawString("00", t(6), t(2));
-		} else {
-			game.score().ifPresent(score -> {
-				g.drawString(String.format("%7d", score.points()), t(1), t(2));
-				g.drawString(String.format("L%d", score.levelNumber()), t(9), t(2));
-			});
+			glyphs.drawText(g, "00", ARCADE_WHITE, t(6), y);
+		} else if (scorePoints >= 0) {
+			glyphs.drawNumber(g, scorePoints, 7, ARCADE_WHITE, t(1), y);
+			int x = glyphs.drawChar(g, 'L', ARCADE_WHITE, t(9), y);
+			glyphs.drawNumber(g, scoreLevel, 0, ARCADE_WHITE, x, y);
 		}
-		var highScore = game.highScore();
-		if (highScore.isPresent() && highScore.get().points() > 0) {
-			g.drawString(String.format("%7d", highScore.get().points()), t(15), t(2));
-			g.drawString(String.format("L%d", highScore.get().levelNumber()), t(23), t(2));
+		if (highScorePoints > 0) {
+			glyphs.drawNumber(g, highScorePoints, 7, ARCADE_WHITE, t(15), y);
+			int x = glyphs.drawChar(g, 'L', ARCADE_WHITE, t(23), y);
+			glyphs.drawNumber(g, highScoreLevel, 0, ARCADE_WHITE, x, y);
 		} else {
-			g.drawString("00", t(20), t(2));
+			glyphs.drawText(g, "00", ARCADE_WHITE, t(20), y);
 		}
-		g.translate(0, -3);
 	}
 
 	default void drawLivesCounter(Graphics2D g, GameModel game) {
-		int numLivesDisplayed = game.isOneLessLifeDisplayed() ? game.lives() - 1 : game.lives();
+		drawLivesCounter(g, game.isOneLessLifeDisplayed() ? game.lives() - 1 : game.lives());
+	}
+
+	default void drawLivesCounter(Graphics2D g, int numLivesDisplayed) {
 		if (numLivesDisplayed <= 0) {
 			return;
 		}
@@ -206,7 +283,7 @@ public interface Rendering2D {
 		}
 		if (numLivesDisplayed > maxLivesDisplayed) {
 			g.setColor(Color.YELLOW);
-			g.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 6));
+			g.setFont(LIVES_COUNTER_FONT);
 			g.drawString("+" + (numLivesDisplayed - maxLivesDisplayed), x + t(10), y + t(1) - 2);
 		}
 	}
@@ -219,16 +296,20 @@ public interface Rendering2D {
 		}
 	}
 
+	default void drawLevelCounter(Graphics2D g, HudValues hud) {
+		int x = t(24);
+		for (int i = 0; i < hud.levelCounterSize(); ++i) {
+			drawSprite(g, getBonusSymbolSprite(hud.levelCounterSymbol(i)), x, t(34));
+			x -= t(2);
+		}
+	}
+
 	default void drawGameState(Graphics2D g, GameModel game, GameState gameState) {
 		if (gameState == GameState.READY) {
-			g.setFont(getArcadeFont());
-			g.setColor(Color.YELLOW);
-			g.drawString("READY!", t(11), t(21));
+			getArcadeGlyphs().drawText(g, "READY!", Color.YELLOW, t(11), t(21));
 		} else if (gameState == GameState.GAME_OVER) {
-			g.setFont(getArcadeFont());
-			g.setColor(Color.RED);
-			g.drawString("GAME", t(9), t(21));
-			g.drawString("OVER", t(15), t(21));
+			getArcadeGlyphs().drawText(g, "GAME", Color.RED, t(9), t(21));
+			getArcadeGlyphs().drawText(g, "OVER", Color.RED, t(15), t(21));
 		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.rendering.common;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.function.Consumer;
+
+import de.amr.games.pacman.ui.swing.lib.ManagedImages;
+
+/**
+ * Part of a scene which only changes at scene state changes, e.g. texts and the score display of the attract mode
+ * scenes. The layer is rendered into a translucent image covering the given area and blitted on later frames. It is
+ * re-rendered after it has been {@link #invalidate() invalidated} or when the key passed to
+ * {@link #draw(Graphics2D, long)} has changed. The key encodes the values displayed by the layer.
+ * 
+ * @author Armin Reichert
+ */
+public class StaticLayer {
+
+	private static final Color TRANSPARENT = new Color(0, 0, 0, 0);
+
+	private final int x;
+	private final int y;
+	private final int width;
+	private final int height;
+	private final Consumer<Graphics2D> renderer;
+	private BufferedImage image;
+	private boolean valid;
+	private long key;
+
+	/**
+	 * @param x        left edge of the layer area in scene coordinates
+	 * @param y        top edge of the layer area in scene coordinates
+	 * @param width    width of the layer area
+	 * @param height   height of the layer area
+	 * @param renderer renders the layer content, in scene coordinates
+	 */
+	public StaticLayer(int x, int y, int width, int height, Consumer<Graphics2D> renderer) {
+		this.x = x;
+		this.y = y;
+		this.width = width;
+		this.height = height;
+		this.renderer = renderer;
+	}
+
+	/**
+	 * Forces re-rendering on next draw.
+	 */
+	public void invalidate() {
+		valid = false;
+	}
+
+	public void draw(Graphics2D g) {
+		draw(g, 0);
+	}
+
+	/**
+	 * Draws the layer, re-renders it first if invalid or if the key has changed.
+	 * 
+	 * @param g   graphics
+	 * @param key key of the displayed values
+	 */
+	public void draw(Graphics2D g, long key) {
+		if (!valid || key != this.key) {
+			render();
+			this.key = key;
+			valid = true;
+		}
+		g.drawImage(image, x, y, null);
+	}
+
+	private void render() {
+		if (image == null) {
+			image = ManagedImages.createImage(width, height, Transparency.TRANSLUCENT);
+		}
+		var g = image.createGraphics();
+		g.setComposite(AlphaComposite.Src);
+		g.setColor(TRANSPARENT);
+		g.fillRect(0, 0, width, height);
+		g.setComposite(AlphaComposite.SrcOver);
+		g.translate(-x, -y);
+		renderer.accept(g);
+		g.dispose();
+	}
+}
\ No newline at end of file
@@ -29,14 +29,34 @@ import de.amr.games.pacman.lib.anim.Pulse;
 import de.amr.games.pacman.model.common.GameModel;
 
 /**
+ * Animations of the maze. Can be reused by the next level, see {@link #setLevelNumber(int)}.
+ * 
  * @author Armin Reichert
  *
  */
 public class WorldAnimations extends EntityAnimationMap {
 
+	private final Rendering2D r2D;
+	private int mazeNumber;
+
 	public WorldAnimations(Rendering2D r2D, int levelNumber) {
+		this.r2D = r2D;
 		put(GameModel.AK_MAZE_ENERGIZER_BLINKING, new Pulse(10, true));
-		var flashing = r2D.createMazeFlashingAnimation(r2D.mazeNumber(levelNumber));
-		put(GameModel.AK_MAZE_FLASHING, flashing);
+		setLevelNumber(levelNumber);
+	}
+
+	/**
+	 * Prepares these animations for the given level and resets them to their initial state. The maze flashing animation
+	 * is only created anew if the maze of the level differs from the previous one.
+	 * 
+	 * @param levelNumber level number (starting at 1)
+	 */
+	public void setLevelNumber(int levelNumber) {
+		int levelMazeNumber = r2D.mazeNumber(levelNumber);
+		if (levelMazeNumber != mazeNumber) {
+			mazeNumber = levelMazeNumber;
+			put(GameModel.AK_MAZE_FLASHING, r2D.createMazeFlashingAnimation(mazeNumber));
+		}
+		reset();
 	}
 }
\ No newline at end of file
@@ -32,15 +32,18 @@ import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.util.List;
+import java.util.function.Supplier;
 
 import de.amr.games.pacman.lib.anim.EntityAnimation;
 import de.amr.games.pacman.lib.anim.EntityAnimationByDirection;
 import de.amr.games.pacman.lib.anim.FixedEntityAnimation;
 import de.amr.games.pacman.lib.anim.SingleEntityAnimation;
 import de.amr.games.pacman.lib.steering.Direction;
-import de.amr.games.pacman.model.common.actors.Ghost;
 import de.amr.games.pacman.model.common.actors.Pac;
 import de.amr.games.pacman.model.mspacman.Clapperboard;
+import de.amr.games.pacman.ui.swing.lib.GlyphAtlas;
+import de.amr.games.pacman.ui.swing.lib.ManagedImages;
+import de.amr.games.pacman.ui.swing.lib.SoftCache;
 import de.amr.games.pacman.ui.swing.lib.Spritesheet;
 import de.amr.games.pacman.ui.swing.rendering.common.Rendering2D;
 
@@ -51,11 +54,14 @@ import de.amr.games.pacman.ui.swing.rendering.common.Rendering2D;
  */
 public class SpritesheetMsPacMan implements Rendering2D {
 
-	/** Sprite sheet order of directions. */
-	static final List<Direction> order = List.of(Direction.RIGHT, Direction.LEFT, Direction.UP, Direction.DOWN);
-
+	/** Sprite sheet order of directions: RIGHT, LEFT, UP, DOWN. */
 	static int dirIndex(Direction dir) {
-		return order.indexOf(dir);
+		return switch (dir) {
+		case RIGHT -> 0;
+		case LEFT -> 1;
+		case UP -> 2;
+		case DOWN -> 3;
+		};
 	}
 
 	//@formatter:off
@@ -94,29 +100,112 @@ public class SpritesheetMsPacMan implements Rendering2D {
 	};
 	//@formatter:on
 
-	private static final SpritesheetMsPacMan theThing = new SpritesheetMsPacMan("/mspacman/graphics/sprites.png", 16);
+	/** Size of the sprite grid right of the mazes, its tiles are sliced when the sheet is loaded. */
+	private static final int RHS_COLS = 12;
+	private static final int RHS_ROWS = 13;
+
+	private static final SoftCache<SpritesheetMsPacMan> cache = new SoftCache<>(
+			() -> new SpritesheetMsPacMan("/mspacman/graphics/sprites.png", 16));
 
+	/**
+	 * @return the sprite sheet, loaded on first access or after it has been evicted
+	 */
 	public static SpritesheetMsPacMan get() {
-		return theThing;
+		return cache.get();
+	}
+
+	/**
+	 * @return the sprite sheet if loaded, else {@code null}
+	 */
+	public static SpritesheetMsPacMan getIfLoaded() {
+		return cache.getIfPresent();
 	}
 
 	private final Spritesheet ss;
+	private final Spritesheet rhs;
+	private final BufferedImage blueBag;
+	private final BufferedImage junior;
 	private final BufferedImage midwayLogo;
 	private final BufferedImage[] mazeFull;
 	private final BufferedImage[] mazeEmpty;
+	private final BufferedImage[] mazeEmptyBright;
+
+	// Frame tables, built once and shared by the animations of all entities and levels
+	private final BufferedImage[] pacDyingFrames;
+	private final BufferedImage[][] pacMunchingFrames;
+	private final BufferedImage[][] spouseMunchingFrames;
+	private final BufferedImage[][][] ghostColorFrames;
+	private final BufferedImage[] ghostBlueFrames;
+	private final BufferedImage[] ghostFlashingFrames;
+	private final BufferedImage[][] ghostEyesFrames;
+	private final BufferedImage[] ghostValueFrames;
+	private final BufferedImage[][] mazeFlashingFrames;
+	private final BufferedImage[] clapperboardFrames;
+	private final BufferedImage[] storkFrames;
 	private final Font font;
+	private final GlyphAtlas glyphs;
+	private final GlyphAtlas smallGlyphs;
 
 	private SpritesheetMsPacMan(String path, int rasterSize) {
-		ss = new Spritesheet(image(path), rasterSize);
+		// the left part of the sheet contains the mazes, only regions are taken from it, no tiles
+		ss = new Spritesheet(image(path), rasterSize, 0, 0, 0, 0);
+		rhs = new Spritesheet(ss.image, rasterSize, 456, 0, RHS_COLS, RHS_ROWS);
+		blueBag = ss.si(488, 199, 8, 8);
+		junior = ss.si(509, 200, 8, 8);
 		font = font("/common/emulogic.ttf", 8);
+		glyphs = new GlyphAtlas(font);
+		smallGlyphs = new GlyphAtlas(font.deriveFont(6f));
+		for (var atlas : List.of(glyphs, smallGlyphs)) {
+			atlas.tint(TEXT_COLORS);
+			atlas.tint(GHOST_COLORS);
+		}
 		midwayLogo = image("/mspacman/graphics/midway.png");
 		int numMazes = 6;
 		mazeEmpty = new BufferedImage[numMazes];
 		mazeFull = new BufferedImage[numMazes];
 		for (int mazeIndex = 0; mazeIndex < 6; ++mazeIndex) {
-			mazeFull[mazeIndex] = ss.image.getSubimage(0, mazeIndex * 248, 226, 248);
-			mazeEmpty[mazeIndex] = ss.image.getSubimage(228, mazeIndex * 248, 226, 248);
+			mazeFull[mazeIndex] = ManagedImages.register("mspacman maze %d full".formatted(mazeIndex + 1),
+					ss.si(0, mazeIndex * 248, 226, 248));
+			mazeEmpty[mazeIndex] = ManagedImages.register("mspacman maze %d empty".formatted(mazeIndex + 1),
+					ss.si(228, mazeIndex * 248, 226, 248));
+		}
+		// flashing mazes are needed at each level end, create them once here instead of at each level start. No parallel
+		// stream here: its workers would block on the initialization of this class if the sheet is created by it.
+		mazeEmptyBright = new BufferedImage[numMazes];
+		for (int mazeIndex = 0; mazeIndex < numMazes; ++mazeIndex) {
+			mazeEmptyBright[mazeIndex] = ManagedImages.register("mspacman maze %d empty (bright)".formatted(mazeIndex + 1),
+					ss.createBrightEffect(mazeEmpty[mazeIndex], MAZE_SIDE_COLORS[mazeIndex], MAZE_TOP_COLORS[mazeIndex]));
 		}
+		mazeFlashingFrames = new BufferedImage[numMazes][];
+		for (int mazeIndex = 0; mazeIndex < numMazes; ++mazeIndex) {
+			mazeFlashingFrames[mazeIndex] = new BufferedImage[] { mazeEmptyBright[mazeIndex], mazeEmpty[mazeIndex] };
+		}
+
+		pacDyingFrames = new BufferedImage[] { rhs(0, 3), rhs(0, 0), rhs(0, 1), rhs(0, 2) };
+		pacMunchingFrames = new BufferedImage[4][];
+		spouseMunchingFrames = new BufferedImage[4][];
+		ghostEyesFrames = new BufferedImage[4][];
+		ghostColorFrames = new BufferedImage[4][4][];
+		for (Direction dir : Direction.values()) {
+			int d = dirIndex(dir);
+			var wide = rhs(0, d);
+			var middle = rhs(1, d);
+			var closed = rhs(2, d);
+			pacMunchingFrames[d] = new BufferedImage[] { middle, closed, middle, wide };
+			spouseMunchingFrames[d] = new BufferedImage[] { rhs(0, 9 + d), rhs(1, 9 + d), rhs(2, 9) };
+			ghostEyesFrames[d] = new BufferedImage[] { rhs(8 + d, 5) };
+			for (int ghostID = 0; ghostID < 4; ++ghostID) {
+				ghostColorFrames[ghostID][d] = new BufferedImage[] { rhs(2 * d, 4 + ghostID), rhs(2 * d + 1, 4 + ghostID) };
+			}
+		}
+		ghostBlueFrames = new BufferedImage[] { rhs(8, 4), rhs(9, 4) };
+		ghostFlashingFrames = new BufferedImage[] { rhs(8, 4), rhs(9, 4), rhs(10, 4), rhs(11, 4) };
+		ghostValueFrames = new BufferedImage[] { rhs(0, 8), rhs(1, 8), rhs(2, 8), rhs(3, 8) };
+		var clapperOpen = ss.si(456, 208, 32, 32);
+		var clapperHalf = ss.si(488, 208, 32, 32);
+		var clapperClosed = ss.si(520, 208, 32, 32);
+		clapperboardFrames = new BufferedImage[] { clapperOpen, clapperHalf, clapperClosed, clapperHalf, clapperOpen };
+		storkFrames = new BufferedImage[] { ss.si(489, 176, 32, 16), ss.si(521, 176, 32, 16) };
 	}
 
 	@Override
@@ -128,7 +217,7 @@ public class SpritesheetMsPacMan implements Rendering2D {
 	 * Picks sprite from the right part of the sheet, on the left are the maze images
 	 */
 	public BufferedImage rhs(int tileX, int tileY) {
-		return ss.tilesFrom(456, 0, tileX, tileY, 1, 1);
+		return rhs.tile(tileX, tileY);
 	}
 
 	@Override
@@ -136,6 +225,16 @@ public class SpritesheetMsPacMan implements Rendering2D {
 		return font;
 	}
 
+	@Override
+	public GlyphAtlas getArcadeGlyphs() {
+		return glyphs;
+	}
+
+	@Override
+	public GlyphAtlas getSmallArcadeGlyphs() {
+		return smallGlyphs;
+	}
+
 	@Override
 	public BufferedImage getGhostSprite(int ghostID, Direction dir) {
 		return rhs(2 * dirIndex(dir) + 1, 4 + ghostID);
@@ -169,21 +268,17 @@ public class SpritesheetMsPacMan implements Rendering2D {
 
 	@Override
 	public SingleEntityAnimation<BufferedImage> createPacDyingAnimation() {
-		var animation = new SingleEntityAnimation<>(rhs(0, 3), rhs(0, 0), rhs(0, 1), rhs(0, 2));
+		var animation = new SingleEntityAnimation<>(pacDyingFrames);
 		animation.setFrameDuration(10);
 		animation.setRepetitions(2);
 		return animation;
 	}
 
 	@Override
-	public EntityAnimationByDirection createPacMunchingAnimationMap(Pac pac) {
-		EntityAnimationByDirection map = new EntityAnimationByDirection(pac::moveDir);
+	public EntityAnimationByDirection createPacMunchingAnimationMap(Supplier<Direction> moveDir) {
+		EntityAnimationByDirection map = new EntityAnimationByDirection(moveDir);
 		for (Direction dir : Direction.values()) {
-			int d = dirIndex(dir);
-			var wide = rhs(0, d);
-			var middle = rhs(1, d);
-			var closed = rhs(2, d);
-			var animation = new SingleEntityAnimation<>(middle, closed, middle, wide);
+			var animation = new SingleEntityAnimation<>(pacMunchingFrames[dirIndex(dir)]);
 			animation.setFrameDuration(2);
 			animation.repeatForever();
 			map.put(dir, animation);
@@ -194,8 +289,7 @@ public class SpritesheetMsPacMan implements Rendering2D {
 	public EntityAnimationByDirection createSpouseMunchingAnimations(Pac pac) {
 		EntityAnimationByDirection map = new EntityAnimationByDirection(pac::moveDir);
 		for (Direction dir : Direction.values()) {
-			int d = dirIndex(dir);
-			var munching = new SingleEntityAnimation<>(rhs(0, 9 + d), rhs(1, 9 + d), rhs(2, 9));
+			var munching = new SingleEntityAnimation<>(spouseMunchingFrames[dirIndex(dir)]);
 			munching.setFrameDuration(2);
 			munching.repeatForever();
 			map.put(dir, munching);
@@ -204,11 +298,10 @@ public class SpritesheetMsPacMan implements Rendering2D {
 	}
 
 	@Override
-	public EntityAnimationByDirection createGhostColorAnimationMap(Ghost ghost) {
-		EntityAnimationByDirection map = new EntityAnimationByDirection(ghost::wishDir);
+	public EntityAnimationByDirection createGhostColorAnimationMap(int ghostID, Supplier<Direction> wishDir) {
+		EntityAnimationByDirection map = new EntityAnimationByDirection(wishDir);
 		for (Direction dir : Direction.values()) {
-			int d = dirIndex(dir);
-			var color = new SingleEntityAnimation<>(rhs(2 * d, 4 + ghost.id()), rhs(2 * d + 1, 4 + ghost.id()));
+			var color = new SingleEntityAnimation<>(ghostColorFrames[ghostID][dirIndex(dir)]);
 			color.setFrameDuration(4);
 			color.repeatForever();
 			map.put(dir, color);
@@ -218,7 +311,7 @@ public class SpritesheetMsPacMan implements Rendering2D {
 
 	@Override
 	public SingleEntityAnimation<BufferedImage> createGhostBlueAnimation() {
-		var animation = new SingleEntityAnimation<>(rhs(8, 4), rhs(9, 4));
+		var animation = new SingleEntityAnimation<>(ghostBlueFrames);
 		animation.setFrameDuration(8);
 		animation.repeatForever();
 		return animation;
@@ -226,31 +319,28 @@ public class SpritesheetMsPacMan implements Rendering2D {
 
 	@Override
 	public SingleEntityAnimation<BufferedImage> createGhostFlashingAnimation() {
-		var animation = new SingleEntityAnimation<>(rhs(8, 4), rhs(9, 4), rhs(10, 4), rhs(11, 4));
+		var animation = new SingleEntityAnimation<>(ghostFlashingFrames);
 		animation.setFrameDuration(4);
 		return animation;
 	}
 
 	@Override
-	public EntityAnimationByDirection createGhostEyesAnimationMap(Ghost ghost) {
-		EntityAnimationByDirection map = new EntityAnimationByDirection(ghost::wishDir);
+	public EntityAnimationByDirection createGhostEyesAnimationMap(Supplier<Direction> wishDir) {
+		EntityAnimationByDirection map = new EntityAnimationByDirection(wishDir);
 		for (Direction dir : Direction.values()) {
-			map.put(dir, new SingleEntityAnimation<>(rhs(8 + dirIndex(dir), 5)));
+			map.put(dir, new SingleEntityAnimation<>(ghostEyesFrames[dirIndex(dir)]));
 		}
 		return map;
 	}
 
 	@Override
 	public FixedEntityAnimation<BufferedImage> createGhostValueList() {
-		return new FixedEntityAnimation<>(rhs(0, 8), rhs(1, 8), rhs(2, 8), rhs(3, 8));
+		return new FixedEntityAnimation<>(ghostValueFrames);
 	}
 
 	@Override
 	public SingleEntityAnimation<BufferedImage> createMazeFlashingAnimation(int mazeNumber) {
-		int mazeIndex = mazeNumber - 1;
-		var mazeEmptyBright = ss.createBrightEffect(mazeEmpty[mazeIndex], MAZE_SIDE_COLORS[mazeIndex],
-				MAZE_TOP_COLORS[mazeIndex]);
-		var animation = new SingleEntityAnimation<>(mazeEmptyBright, mazeEmpty[mazeIndex]);
+		var animation = new SingleEntityAnimation<>(mazeFlashingFrames[mazeNumber - 1]);
 		animation.setFrameDuration(12);
 		return animation;
 	}
@@ -258,8 +348,7 @@ public class SpritesheetMsPacMan implements Rendering2D {
 	public EntityAnimationByDirection createHusbandMunchingAnimations(Pac pac) {
 		EntityAnimationByDirection map = new EntityAnimationByDirection(pac::moveDir);
 		for (var dir : Direction.values()) {
-			int d = dirIndex(dir);
-			var animation = new SingleEntityAnimation<>(rhs(0, 9 + d), rhs(1, 9 + d), rhs(2, 9));
+			var animation = new SingleEntityAnimation<>(spouseMunchingFrames[dirIndex(dir)]);
 			animation.setFrameDuration(2);
 			animation.repeatForever();
 			map.put(dir, animation);
@@ -268,33 +357,24 @@ public class SpritesheetMsPacMan implements Rendering2D {
 	}
 
 	public SingleEntityAnimation<BufferedImage> createClapperboardAnimation() {
-		var animation = new SingleEntityAnimation<>( //
-				ss.si(456, 208, 32, 32), //
-				ss.si(488, 208, 32, 32), //
-				ss.si(520, 208, 32, 32), //
-				ss.si(488, 208, 32, 32), //
-				ss.si(456, 208, 32, 32)//
-		);
+		var animation = new SingleEntityAnimation<>(clapperboardFrames);
 		animation.setFrameDuration(4);
 		return animation;
 	}
 
 	public SingleEntityAnimation<BufferedImage> createStorkFlyingAnimation() {
-		var animation = new SingleEntityAnimation<>( //
-				ss.si(489, 176, 32, 16), //
-				ss.si(521, 176, 32, 16) //
-		);
+		var animation = new SingleEntityAnimation<>(storkFrames);
 		animation.repeatForever();
 		animation.setFrameDuration(10);
 		return animation;
 	}
 
 	public BufferedImage getBlueBag() {
-		return ss.si(488, 199, 8, 8);
+		return blueBag;
 	}
 
 	public BufferedImage getJunior() {
-		return ss.si(509, 200, 8, 8);
+		return junior;
 	}
 
 	public BufferedImage getHeart() {
@@ -322,9 +402,8 @@ public class SpritesheetMsPacMan implements Rendering2D {
 		g.setColor(Color.RED);
 		g.setFont(new Font("Dialog", Font.PLAIN, 11));
 		g.drawString("\u00a9", x + t(5), y + t(2) + 2); // (c) symbol
-		g.setFont(getArcadeFont());
-		g.drawString("MIDWAY MFG CO", x + t(7), y + t(2));
-		g.drawString("1980/1981", x + t(8), y + t(4));
+		glyphs.drawText(g, "MIDWAY MFG CO", Color.RED, x + t(7), y + t(2));
+		glyphs.drawText(g, "1980/1981", Color.RED, x + t(8), y + t(4));
 	}
 
 	public void drawFlap(Graphics2D g, Clapperboard flap) {
@@ -332,11 +411,10 @@ public class SpritesheetMsPacMan implements Rendering2D {
 			flap.animation().map(EntityAnimation::animate).ifPresent(spriteObj -> {
 				var sprite = (BufferedImage) spriteObj;
 				drawEntity(g, flap, sprite);
-				g.setFont(getArcadeFont());
-				g.setColor(new Color(222, 222, 255));
-				g.drawString(flap.sceneNumber + "", (int) flap.position().x() + sprite.getWidth() - 25,
+				glyphs.drawNumber(g, flap.sceneNumber, 0, ARCADE_WHITE, (int) flap.position().x() + sprite.getWidth() - 25,
 						(int) flap.position().y() + 18);
-				g.drawString(flap.sceneTitle, (int) flap.position().x() + sprite.getWidth(), (int) flap.position().y());
+				glyphs.drawText(g, flap.sceneTitle, ARCADE_WHITE, (int) flap.position().x() + sprite.getWidth(),
+						(int) flap.position().y());
 			});
 		}
 	}
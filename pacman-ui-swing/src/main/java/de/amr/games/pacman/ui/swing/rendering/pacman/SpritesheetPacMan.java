@@ -23,10 +23,6 @@ SOFTWARE.
  */
 package de.amr.games.pacman.ui.swing.rendering.pacman;
 
-import static de.amr.games.pacman.lib.steering.Direction.DOWN;
-import static de.amr.games.pacman.lib.steering.Direction.LEFT;
-import static de.amr.games.pacman.lib.steering.Direction.RIGHT;
-import static de.amr.games.pacman.lib.steering.Direction.UP;
 import static de.amr.games.pacman.ui.swing.lib.Ujfc.font;
 import static de.amr.games.pacman.ui.swing.lib.Ujfc.image;
 
@@ -34,15 +30,17 @@ import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
 import de.amr.games.pacman.lib.anim.EntityAnimationByDirection;
 import de.amr.games.pacman.lib.anim.FixedEntityAnimation;
 import de.amr.games.pacman.lib.anim.SingleEntityAnimation;
 import de.amr.games.pacman.lib.steering.Direction;
 import de.amr.games.pacman.model.common.actors.Ghost;
-import de.amr.games.pacman.model.common.actors.Pac;
+import de.amr.games.pacman.ui.swing.lib.GlyphAtlas;
+import de.amr.games.pacman.ui.swing.lib.ManagedImages;
+import de.amr.games.pacman.ui.swing.lib.SoftCache;
 import de.amr.games.pacman.ui.swing.lib.Spritesheet;
 import de.amr.games.pacman.ui.swing.rendering.common.Rendering2D;
 
@@ -53,17 +51,31 @@ import de.amr.games.pacman.ui.swing.rendering.common.Rendering2D;
  */
 public class SpritesheetPacMan implements Rendering2D {
 
-	private static final SpritesheetPacMan theThing = new SpritesheetPacMan("/pacman/graphics/sprites.png", 16);
+	private static final SoftCache<SpritesheetPacMan> cache = new SoftCache<>(
+			() -> new SpritesheetPacMan("/pacman/graphics/sprites.png", 16));
 
+	/**
+	 * @return the sprite sheet, loaded on first access or after it has been evicted
+	 */
 	public static SpritesheetPacMan get() {
-		return theThing;
+		return cache.get();
 	}
 
-	// TODO
-	static final List<Direction> order = Arrays.asList(RIGHT, LEFT, UP, DOWN);
+	/**
+	 * @return the sprite sheet if loaded, else {@code null}
+	 */
+	public static SpritesheetPacMan getIfLoaded() {
+		return cache.getIfPresent();
+	}
 
+	/** Sprite sheet order of directions: RIGHT, LEFT, UP, DOWN. */
 	private static int index(Direction dir) {
-		return order.indexOf(dir);
+		return switch (dir) {
+		case RIGHT -> 0;
+		case LEFT -> 1;
+		case UP -> 2;
+		case DOWN -> 3;
+		};
 	}
 
 	//@formatter:off
@@ -77,20 +89,88 @@ public class SpritesheetPacMan implements Rendering2D {
 
 	private static final Color FOOD_COLOR = new Color(254, 189, 180);
 
+	/** Color of the bonus text of the credit scene. */
+	public static final Color BONUS_TEXT_COLOR = new Color(255, 184, 174);
+
+	private static final int NUM_BONUS_SYMBOLS = 8;
+
 	private final Spritesheet ss;
+	private final BufferedImage[] bonusValueSprites;
+
+	// Frame tables, built once and shared by the animations of all entities and levels
+	private final BufferedImage[] pacDyingFrames;
+	private final BufferedImage[][] pacMunchingFrames;
+	private final BufferedImage[][][] ghostColorFrames;
+	private final BufferedImage[] ghostBlueFrames;
+	private final BufferedImage[] ghostFlashingFrames;
+	private final BufferedImage[][] ghostEyesFrames;
+	private final BufferedImage[] ghostValueFrames;
+	private final BufferedImage[] bigPacManFrames;
+	private final BufferedImage[] blinkyStretchedFrames;
+	private final BufferedImage[] blinkyDamagedFrames;
+	private final BufferedImage[] blinkyPatchedFrames;
+	private final BufferedImage[] blinkyNakedFrames;
+
 	private final BufferedImage mazeFull;
-	private final SingleEntityAnimation<BufferedImage> mazeFlashingAnim;
+	private final BufferedImage[] mazeFlashingFrames;
 	private final Font font;
+	private final GlyphAtlas glyphs;
+	private final GlyphAtlas smallGlyphs;
 
 	private SpritesheetPacMan(String path, int rasterSize) {
 		ss = new Spritesheet(image(path), rasterSize);
 		font = font("/common/emulogic.ttf", 8);
+		glyphs = new GlyphAtlas(font);
+		smallGlyphs = new GlyphAtlas(font.deriveFont(6f));
+		for (var atlas : List.of(glyphs, smallGlyphs)) {
+			atlas.tint(TEXT_COLORS);
+			atlas.tint(GHOST_COLORS);
+			atlas.tint(BONUS_TEXT_COLOR);
+		}
+
+		bonusValueSprites = new BufferedImage[NUM_BONUS_SYMBOLS];
+		for (int symbol = 0; symbol < NUM_BONUS_SYMBOLS; ++symbol) {
+			if (symbol <= 3) {
+				bonusValueSprites[symbol] = ss.tile(symbol, 9);
+			} else {
+				bonusValueSprites[symbol] = symbol == 4 ? ss.tiles(4, 9, 2, 1) : ss.tiles(3, symbol, 3, 1);
+			}
+		}
+
+		pacDyingFrames = new BufferedImage[11];
+		for (int i = 0; i < pacDyingFrames.length; ++i) {
+			pacDyingFrames[i] = ss.tile(3 + i, 0);
+		}
+		pacMunchingFrames = new BufferedImage[4][];
+		ghostEyesFrames = new BufferedImage[4][];
+		ghostColorFrames = new BufferedImage[4][4][];
+		for (Direction dir : Direction.values()) {
+			int d = index(dir);
+			var wide = ss.tile(0, d);
+			var open = ss.tile(1, d);
+			var closed = ss.tile(2, 0);
+			pacMunchingFrames[d] = new BufferedImage[] { closed, open, wide, open };
+			ghostEyesFrames[d] = new BufferedImage[] { ss.tile(8 + d, 5) };
+			for (int ghostID = 0; ghostID < 4; ++ghostID) {
+				ghostColorFrames[ghostID][d] = new BufferedImage[] { ss.tile(2 * d, 4 + ghostID),
+						ss.tile(2 * d + 1, 4 + ghostID) };
+			}
+		}
+		ghostBlueFrames = new BufferedImage[] { ss.tile(8, 4), ss.tile(9, 4) };
+		ghostFlashingFrames = new BufferedImage[] { ss.tile(8, 4), ss.tile(9, 4), ss.tile(10, 4), ss.tile(11, 4) };
+		ghostValueFrames = new BufferedImage[] { ss.tile(0, 8), ss.tile(1, 8), ss.tile(2, 8), ss.tile(3, 8) };
+		bigPacManFrames = new BufferedImage[] { ss.tiles(2, 1, 2, 2), ss.tiles(4, 1, 2, 2), ss.tiles(6, 1, 2, 2) };
+		blinkyStretchedFrames = new BufferedImage[] { ss.tile(8, 6), ss.tile(9, 6), ss.tile(10, 6), ss.tile(11, 6),
+				ss.tile(12, 6) };
+		blinkyDamagedFrames = new BufferedImage[] { ss.tile(8, 7), ss.tile(9, 7) };
+		blinkyPatchedFrames = new BufferedImage[] { ss.tile(10, 7), ss.tile(11, 7) };
+		blinkyNakedFrames = new BufferedImage[] { ss.tiles(8, 8, 2, 1), ss.tiles(10, 8, 2, 1) };
 
 		mazeFull = image("/pacman/graphics/maze_full.png");
 		var mazeEmptyDark = image("/pacman/graphics/maze_empty.png");
-		var mazeEmptyBright = ss.createBrightEffect(mazeEmptyDark, new Color(33, 33, 255), Color.BLACK);
-		mazeFlashingAnim = new SingleEntityAnimation<>(mazeEmptyBright, mazeEmptyDark);
-		mazeFlashingAnim.setFrameDuration(12);
+		var mazeEmptyBright = ManagedImages.register("/pacman/graphics/maze_empty.png (bright)",
+				ss.createBrightEffect(mazeEmptyDark, new Color(33, 33, 255), Color.BLACK));
+		mazeFlashingFrames = new BufferedImage[] { mazeEmptyBright, mazeEmptyDark };
 	}
 
 	@Override
@@ -103,6 +183,16 @@ public class SpritesheetPacMan implements Rendering2D {
 		return font;
 	}
 
+	@Override
+	public GlyphAtlas getArcadeGlyphs() {
+		return glyphs;
+	}
+
+	@Override
+	public GlyphAtlas getSmallArcadeGlyphs() {
+		return smallGlyphs;
+	}
+
 	@Override
 	public Color getGhostColor(int ghostID) {
 		return GHOST_COLORS[ghostID];
@@ -120,10 +210,7 @@ public class SpritesheetPacMan implements Rendering2D {
 
 	@Override
 	public BufferedImage getBonusValueSprite(int symbol) {
-		if (symbol <= 3) {
-			return ss.tile(symbol, 9);
-		}
-		return symbol == 4 ? ss.tiles(4, 9, 2, 1) : ss.tiles(3, symbol, 3, 1);
+		return bonusValueSprites[symbol];
 	}
 
 	@Override
@@ -142,23 +229,16 @@ public class SpritesheetPacMan implements Rendering2D {
 
 	@Override
 	public SingleEntityAnimation<BufferedImage> createPacDyingAnimation() {
-		var animation = new SingleEntityAnimation<>( //
-				ss.tile(3, 0), ss.tile(4, 0), ss.tile(5, 0), ss.tile(6, 0), //
-				ss.tile(7, 0), ss.tile(8, 0), ss.tile(9, 0), ss.tile(10, 0), //
-				ss.tile(11, 0), ss.tile(12, 0), ss.tile(13, 0));
+		var animation = new SingleEntityAnimation<>(pacDyingFrames);
 		animation.setFrameDuration(8);
 		return animation;
 	}
 
 	@Override
-	public EntityAnimationByDirection createPacMunchingAnimationMap(Pac pac) {
-		EntityAnimationByDirection munching = new EntityAnimationByDirection(pac::moveDir);
+	public EntityAnimationByDirection createPacMunchingAnimationMap(Supplier<Direction> moveDir) {
+		EntityAnimationByDirection munching = new EntityAnimationByDirection(moveDir);
 		for (Direction dir : Direction.values()) {
-			int d = index(dir);
-			var wide = ss.tile(0, d);
-			var open = ss.tile(1, d);
-			var closed = ss.tile(2, 0);
-			var animation = new SingleEntityAnimation<>(closed, open, wide, open);
+			var animation = new SingleEntityAnimation<>(pacMunchingFrames[index(dir)]);
 			animation.setFrameDuration(2);
 			animation.repeatForever();
 			munching.put(dir, animation);
@@ -167,11 +247,10 @@ public class SpritesheetPacMan implements Rendering2D {
 	}
 
 	@Override
-	public EntityAnimationByDirection createGhostColorAnimationMap(Ghost ghost) {
-		EntityAnimationByDirection map = new EntityAnimationByDirection(ghost::wishDir);
+	public EntityAnimationByDirection createGhostColorAnimationMap(int ghostID, Supplier<Direction> wishDir) {
+		EntityAnimationByDirection map = new EntityAnimationByDirection(wishDir);
 		for (Direction dir : Direction.values()) {
-			var animation = new SingleEntityAnimation<>(ss.tile(2 * index(dir), 4 + ghost.id()),
-					ss.tile(2 * index(dir) + 1, 4 + ghost.id()));
+			var animation = new SingleEntityAnimation<>(ghostColorFrames[ghostID][index(dir)]);
 			animation.setFrameDuration(8);
 			animation.repeatForever();
 			map.put(dir, animation);
@@ -181,7 +260,7 @@ public class SpritesheetPacMan implements Rendering2D {
 
 	@Override
 	public SingleEntityAnimation<BufferedImage> createGhostBlueAnimation() {
-		var animation = new SingleEntityAnimation<>(ss.tile(8, 4), ss.tile(9, 4));
+		var animation = new SingleEntityAnimation<>(ghostBlueFrames);
 		animation.setFrameDuration(8);
 		animation.repeatForever();
 		return animation;
@@ -189,51 +268,51 @@ public class SpritesheetPacMan implements Rendering2D {
 
 	@Override
 	public SingleEntityAnimation<BufferedImage> createGhostFlashingAnimation() {
-		var animation = new SingleEntityAnimation<>(ss.tile(8, 4), ss.tile(9, 4), ss.tile(10, 4), ss.tile(11, 4));
+		var animation = new SingleEntityAnimation<>(ghostFlashingFrames);
 		animation.setFrameDuration(4);
 		return animation;
 	}
 
 	@Override
-	public EntityAnimationByDirection createGhostEyesAnimationMap(Ghost ghost) {
-		EntityAnimationByDirection ghostEyesAnimsByDir = new EntityAnimationByDirection(ghost::wishDir);
+	public EntityAnimationByDirection createGhostEyesAnimationMap(Supplier<Direction> wishDir) {
+		EntityAnimationByDirection ghostEyesAnimsByDir = new EntityAnimationByDirection(wishDir);
 		for (Direction dir : Direction.values()) {
-			ghostEyesAnimsByDir.put(dir, new SingleEntityAnimation<>(ss.tile(8 + index(dir), 5)));
+			ghostEyesAnimsByDir.put(dir, new SingleEntityAnimation<>(ghostEyesFrames[index(dir)]));
 		}
 		return ghostEyesAnimsByDir;
 	}
 
 	@Override
 	public FixedEntityAnimation<BufferedImage> createGhostValueList() {
-		return new FixedEntityAnimation<>(ss.tile(0, 8), ss.tile(1, 8), ss.tile(2, 8), ss.tile(3, 8));
+		return new FixedEntityAnimation<>(ghostValueFrames);
 	}
 
 	// Pac-Man specific
 
 	public SingleEntityAnimation<BufferedImage> createBigPacManMunchingAnimation() {
-		var animation = new SingleEntityAnimation<>(ss.tiles(2, 1, 2, 2), ss.tiles(4, 1, 2, 2), ss.tiles(6, 1, 2, 2));
+		var animation = new SingleEntityAnimation<>(bigPacManFrames);
 		animation.setFrameDuration(4);
 		animation.repeatForever();
 		return animation;
 	}
 
 	public SingleEntityAnimation<BufferedImage> createBlinkyStretchedAnimation() {
-		return new SingleEntityAnimation<>(ss.tile(8, 6), ss.tile(9, 6), ss.tile(10, 6), ss.tile(11, 6), ss.tile(12, 6));
+		return new SingleEntityAnimation<>(blinkyStretchedFrames);
 	}
 
 	public SingleEntityAnimation<BufferedImage> createBlinkyDamagedAnimation() {
-		return new SingleEntityAnimation<>(ss.tile(8, 7), ss.tile(9, 7));
+		return new SingleEntityAnimation<>(blinkyDamagedFrames);
 	}
 
 	public SingleEntityAnimation<BufferedImage> createBlinkyPatchedAnimation() {
-		var blinkyPatched = new SingleEntityAnimation<>(ss.tile(10, 7), ss.tile(11, 7));
+		var blinkyPatched = new SingleEntityAnimation<>(blinkyPatchedFrames);
 		blinkyPatched.setFrameDuration(4);
 		blinkyPatched.repeatForever();
 		return blinkyPatched;
 	}
 
 	public SingleEntityAnimation<BufferedImage> createBlinkyNakedAnimation() {
-		var blinkyNaked = new SingleEntityAnimation<>(ss.tiles(8, 8, 2, 1), ss.tiles(10, 8, 2, 1));
+		var blinkyNaked = new SingleEntityAnimation<>(blinkyNakedFrames);
 		blinkyNaked.setFrameDuration(4);
 		blinkyNaked.repeatForever();
 		return blinkyNaked;
@@ -248,7 +327,9 @@ public class SpritesheetPacMan implements Rendering2D {
 
 	@Override
 	public SingleEntityAnimation<BufferedImage> createMazeFlashingAnimation(int mazeNumber) {
-		return mazeFlashingAnim;
+		var animation = new SingleEntityAnimation<>(mazeFlashingFrames);
+		animation.setFrameDuration(12);
+		return animation;
 	}
 
 	// Drawing
@@ -260,8 +341,6 @@ public class SpritesheetPacMan implements Rendering2D {
 
 	@Override
 	public void drawCopyright(Graphics2D g, int x, int y) {
-		g.setFont(getArcadeFont());
-		g.setColor(getGhostColor(Ghost.ID_PINK_GHOST));
-		g.drawString("\u00A9 1980 MIDWAY MFG. CO.", x, y);
+		glyphs.drawText(g, "\u00A9 1980 MIDWAY MFG. CO.", getGhostColor(Ghost.ID_PINK_GHOST), x, y);
 	}
 }
\ No newline at end of file
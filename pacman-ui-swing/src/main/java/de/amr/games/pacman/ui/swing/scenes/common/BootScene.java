@@ -32,25 +32,40 @@ import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.util.Random;
 
-import de.amr.games.pacman.model.common.GameVariant;
 import de.amr.games.pacman.model.common.world.ArcadeWorld;
-import de.amr.games.pacman.ui.swing.rendering.mspacman.SpritesheetMsPacMan;
-import de.amr.games.pacman.ui.swing.rendering.pacman.SpritesheetPacMan;
+import de.amr.games.pacman.ui.swing.rendering.common.Rendering2D;
+import de.amr.games.pacman.ui.swing.shell.GameAssets;
 
 /**
+ * Plays the boot sequence while the assets are loaded in the background. Ends when the sequence is over and all assets
+ * are loaded.
+ * 
  * @author Armin Reichert
  */
 public class BootScene extends GameScene {
 
+	private static final String HEX_DIGITS = "0123456789abcdef";
+	private static final BasicStroke GRID_STROKE = new BasicStroke(2);
+
 	private final Random rnd = new Random();
+	private final GameAssets assets;
 	private final Graphics2D gc;
 	private final BufferedImage currentImage;
 
-	public BootScene() {
+	public BootScene(GameAssets assets) {
+		this.assets = assets;
 		currentImage = new BufferedImage(size.x(), size.y(), BufferedImage.TYPE_INT_RGB);
 		gc = (Graphics2D) currentImage.getGraphics();
 	}
 
+	/**
+	 * Unlike other scenes, does not wait for the sprite sheet of the game variant because it may still be loading.
+	 */
+	@Override
+	public boolean needsRendering() {
+		return false;
+	}
+
 	@Override
 	public void init() {
 		clearBuffer();
@@ -65,7 +80,7 @@ public class BootScene extends GameScene {
 			drawRandomSprites();
 		} else if (timer.atSecond(3.5)) {
 			drawGrid();
-		} else if (timer.atSecond(4.0)) {
+		} else if (timer.betweenSeconds(4.0, Double.MAX_VALUE) && assets.isLoaded()) {
 			gameController.terminateCurrentState();
 		}
 	}
@@ -82,20 +97,24 @@ public class BootScene extends GameScene {
 
 	private void drawRandomHexCodes() {
 		clearBuffer();
-		gc.setColor(new Color(222, 222, 255));
-		gc.setFont(SpritesheetPacMan.get().getArcadeFont());
+		var sheet = assets.spritesIfLoaded(game.variant());
+		if (sheet == null) {
+			return;
+		}
+		var glyphs = sheet.getArcadeGlyphs();
 		for (int row = 0; row < ArcadeWorld.SIZE_TILES.y(); ++row) {
 			for (int col = 0; col < ArcadeWorld.SIZE_TILES.x(); ++col) {
-				var hexCode = Integer.toHexString(rnd.nextInt(16));
-				gc.drawString(hexCode, col * 8, row * 8 + 8);
+				glyphs.drawChar(gc, HEX_DIGITS.charAt(rnd.nextInt(16)), Rendering2D.ARCADE_WHITE, col * 8, row * 8 + 8);
 			}
 		}
 	}
 
 	private void drawRandomSprites() {
+		var sheet = assets.spritesIfLoaded(game.variant());
+		if (sheet == null) {
+			return;
+		}
 		clearBuffer();
-		var sheet = gameController.game().variant() == GameVariant.MS_PACMAN ? SpritesheetMsPacMan.get()
-				: SpritesheetPacMan.get();
 		var image = sheet.getSourceImage();
 		var w = image.getWidth();
 		var h = image.getHeight();
@@ -115,8 +134,9 @@ public class BootScene extends GameScene {
 				if (y + cellSize > h) {
 					y -= cellSize;
 				}
-				var rect = image.getSubimage(x, y, cellSize, cellSize);
-				sheet.drawSprite(gc, rect, cellSize * col, cellSize * row);
+				int dx = cellSize * col;
+				int dy = cellSize * row;
+				gc.drawImage(image, dx, dy, dx + cellSize, dy + cellSize, x, y, x + cellSize, y + cellSize, null);
 			}
 		}
 	}
@@ -126,8 +146,8 @@ public class BootScene extends GameScene {
 		var cellSize = 16;
 		var numRows = ArcadeWorld.SIZE_TILES.y() / 2;
 		var numCols = ArcadeWorld.SIZE_TILES.x() / 2;
-		gc.setColor(new Color(222, 222, 255));
-		gc.setStroke(new BasicStroke(2));
+		gc.setColor(Rendering2D.ARCADE_WHITE);
+		gc.setStroke(GRID_STROKE);
 		for (int row = 0; row <= numRows; ++row) {
 			gc.drawLine(0, row * cellSize, ArcadeWorld.SIZE_TILES.x() * TS, row * cellSize);
 		}
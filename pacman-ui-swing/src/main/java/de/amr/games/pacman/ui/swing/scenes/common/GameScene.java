@@ -24,15 +24,20 @@ SOFTWARE.
 package de.amr.games.pacman.ui.swing.scenes.common;
 
 import java.awt.Graphics2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 import de.amr.games.pacman.controller.common.GameController;
 import de.amr.games.pacman.event.GameEventListener;
 import de.amr.games.pacman.lib.math.Vector2i;
 import de.amr.games.pacman.model.common.GameModel;
 import de.amr.games.pacman.model.common.world.ArcadeWorld;
+import de.amr.games.pacman.ui.swing.rendering.common.ActorSprites;
+import de.amr.games.pacman.ui.swing.rendering.common.HudValues;
 import de.amr.games.pacman.ui.swing.rendering.common.Rendering2D;
-import de.amr.games.pacman.ui.swing.rendering.mspacman.SpritesheetMsPacMan;
-import de.amr.games.pacman.ui.swing.rendering.pacman.SpritesheetPacMan;
+import de.amr.games.pacman.ui.swing.rendering.common.StaticLayer;
+import de.amr.games.pacman.ui.swing.shell.RenderSnapshot;
 
 /**
  * Common game scene base class.
@@ -45,14 +50,64 @@ public abstract class GameScene implements GameEventListener {
 	protected Vector2i size = ArcadeWorld.SIZE_PX;
 	protected GameModel game;
 	protected Rendering2D r2D;
+	private final List<StaticLayer> staticLayers = new ArrayList<>();
+	private final HudValues attractModeHudValues = new HudValues();
+
+	/**
+	 * Creates a static layer of this scene. Static layers are invalidated when the scene context is set, i.e. each time
+	 * the scene is entered, and by {@link #invalidateStaticLayers()}.
+	 * 
+	 * @param x        left edge of the layer area
+	 * @param y        top edge of the layer area
+	 * @param width    width of the layer area
+	 * @param height   height of the layer area
+	 * @param renderer renders the layer content in scene coordinates
+	 * @return the layer
+	 */
+	protected StaticLayer createStaticLayer(int x, int y, int width, int height, Consumer<Graphics2D> renderer) {
+		var layer = new StaticLayer(x, y, width, height, renderer);
+		staticLayers.add(layer);
+		return layer;
+	}
+
+	/**
+	 * Forces re-rendering of all static layers of this scene, e.g. at a scene state change.
+	 */
+	protected void invalidateStaticLayers() {
+		for (var layer : staticLayers) {
+			layer.invalidate();
+		}
+	}
+
+	/**
+	 * @return if any value shown by the score, credit and level counter display of the attract mode scenes has changed
+	 *         since the last call
+	 */
+	protected boolean attractModeHudChanged() {
+		return attractModeHudValues.update(game);
+	}
 
 	public void setContext(GameController gameController) {
 		this.gameController = gameController;
 		this.game = gameController.game();
-		this.r2D = switch (game.variant()) {
-		case MS_PACMAN -> SpritesheetMsPacMan.get();
-		case PACMAN -> SpritesheetPacMan.get();
-		};
+		invalidateStaticLayers();
+	}
+
+	/**
+	 * Sets the rendering (sprite sheet) of the game variant. Called before {@link #init()}, but only after the sprite
+	 * sheet has been loaded, so the game loop thread never waits for the loader.
+	 * 
+	 * @param r2D rendering of the game variant
+	 */
+	public void setRendering(Rendering2D r2D) {
+		this.r2D = r2D;
+	}
+
+	/**
+	 * @return if this scene can only be initialized after the sprite sheet of the game variant has been loaded
+	 */
+	public boolean needsRendering() {
+		return true;
 	}
 
 	public Vector2i size() {
@@ -70,4 +125,22 @@ public abstract class GameScene implements GameEventListener {
 
 	public void render(Graphics2D g) {
 	}
+
+	/**
+	 * Collects the sprites of moving actors. These are not drawn by {@link #render(Graphics2D)} but by the render thread
+	 * at interpolated positions on top of the rendered scene.
+	 * 
+	 * @param sprites actor sprites of the current tick
+	 */
+	public void collectSprites(ActorSprites sprites) {
+	}
+
+	/**
+	 * Adds the head-up display to the snapshot if the scene has one drawn by the render thread. Like the actor sprites,
+	 * it is not drawn by {@link #render(Graphics2D)}, only its values are copied into the snapshot.
+	 * 
+	 * @param snapshot render snapshot of the current tick
+	 */
+	public void collectHud(RenderSnapshot snapshot) {
+	}
 }
\ No newline at end of file
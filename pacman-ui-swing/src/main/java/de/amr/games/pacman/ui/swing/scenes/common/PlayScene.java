@@ -29,13 +29,19 @@ import java.awt.Graphics2D;
 import java.awt.Image;
 
 import de.amr.games.pacman.controller.common.GameState;
+import de.amr.games.pacman.event.GameEvent;
+import de.amr.games.pacman.event.GameEventType;
 import de.amr.games.pacman.event.GameStateChangeEvent;
 import de.amr.games.pacman.model.common.GameModel;
 import de.amr.games.pacman.model.common.actors.Ghost;
 import de.amr.games.pacman.model.common.world.World;
+import de.amr.games.pacman.ui.swing.rendering.common.ActorSprites;
 import de.amr.games.pacman.ui.swing.rendering.common.DebugDraw;
+import de.amr.games.pacman.ui.swing.rendering.common.MazeLayer;
+import de.amr.games.pacman.ui.swing.shell.KeyAction;
 import de.amr.games.pacman.ui.swing.shell.Keyboard;
 import de.amr.games.pacman.ui.swing.shell.PacManGameUI;
+import de.amr.games.pacman.ui.swing.shell.RenderSnapshot;
 
 /**
  * The play scene for Pac-Man and Ms. Pac-Man.
@@ -44,37 +50,55 @@ import de.amr.games.pacman.ui.swing.shell.PacManGameUI;
  */
 public class PlayScene extends GameScene {
 
+	private final MazeLayer mazeLayer = new MazeLayer();
+	private final DebugDraw debugDraw = new DebugDraw();
+
+	@Override
+	public void init() {
+		mazeLayer.invalidateAll();
+	}
+
 	@Override
 	public void update() {
-		if (Keyboard.keyPressed("5")) {
+		if (Keyboard.triggered(KeyAction.ADD_CREDIT)) {
 			gameController.addCredit();
 		}
 	}
 
 	@Override
 	public void render(Graphics2D g) {
-		game.level().ifPresent(level -> {
-			drawMaze(g, level.world(), r2D.mazeNumber(level.number()));
-			r2D.drawBonus(g, level.bonus());
-			r2D.drawGameState(g, game, game.hasCredit() ? gameController.state() : GameState.GAME_OVER);
-			r2D.drawPac(g, level.pac());
-			r2D.drawGhost(g, level.ghost(Ghost.ID_ORANGE_GHOST));
-			r2D.drawGhost(g, level.ghost(Ghost.ID_CYAN_GHOST));
-			r2D.drawGhost(g, level.ghost(Ghost.ID_PINK_GHOST));
-			r2D.drawGhost(g, level.ghost(Ghost.ID_RED_GHOST));
-			if (PacManGameUI.isDebugDraw()) {
-				DebugDraw.drawPlaySceneDebugInfo(g, gameController);
-			}
-		});
+		// runs every frame: no capturing lambdas here, they would allocate
+		var optLevel = game.level();
+		if (optLevel.isEmpty()) {
+			return;
+		}
+		var level = optLevel.get();
+		drawMaze(g, level.world(), r2D.mazeNumber(level.number()));
+		r2D.drawBonus(g, level.bonus());
+		r2D.drawGameState(g, game, game.hasCredit() ? gameController.state() : GameState.GAME_OVER);
+		if (PacManGameUI.isDebugDraw()) {
+			debugDraw.drawPlaySceneDebugInfo(g, gameController);
+		}
+	}
+
+	@Override
+	public void collectHud(RenderSnapshot snapshot) {
 		boolean highScoreOnly = !game.isPlaying() && gameController.state() != GameState.READY
 				&& gameController.state() != GameState.GAME_OVER;
-		r2D.drawScores(g, game, highScoreOnly);
-		if (game.hasCredit()) {
-			r2D.drawLivesCounter(g, game);
-		} else {
-			r2D.drawCredit(g, game.credit());
+		snapshot.showHud(r2D, game, highScoreOnly);
+	}
+
+	@Override
+	public void collectSprites(ActorSprites sprites) {
+		var optLevel = game.level();
+		if (optLevel.isPresent()) {
+			var level = optLevel.get();
+			r2D.addPac(sprites, 0, level.pac());
+			r2D.addGhost(sprites, 1 + Ghost.ID_ORANGE_GHOST, level.ghost(Ghost.ID_ORANGE_GHOST));
+			r2D.addGhost(sprites, 1 + Ghost.ID_CYAN_GHOST, level.ghost(Ghost.ID_CYAN_GHOST));
+			r2D.addGhost(sprites, 1 + Ghost.ID_PINK_GHOST, level.ghost(Ghost.ID_PINK_GHOST));
+			r2D.addGhost(sprites, 1 + Ghost.ID_RED_GHOST, level.ghost(Ghost.ID_RED_GHOST));
 		}
-		r2D.drawLevelCounter(g, game.levelCounter());
 	}
 
 	private void drawMaze(Graphics2D g, World world, int mazeNumber) {
@@ -82,23 +106,36 @@ public class PlayScene extends GameScene {
 		if (flashing.isPresent() && flashing.get().isRunning()) {
 			g.drawImage((Image) flashing.get().frame(), 0, t(3), null);
 		} else {
-			r2D.drawFullMaze(g, mazeNumber, 0, t(3));
 			var energizerPulse = world.animation(GameModel.AK_MAZE_ENERGIZER_BLINKING);
-			if (energizerPulse.isPresent()) {
-				boolean dark = !(boolean) energizerPulse.get().frame();
-				r2D.drawDarkTiles(g, world.tiles(),
-						tile -> world.containsEatenFood(tile) || world.isEnergizerTile(tile) && dark);
-			} else {
-				r2D.drawDarkTiles(g, world.tiles(), world::containsEatenFood);
-			}
+			boolean energizersVisible = energizerPulse.isEmpty() || (boolean) energizerPulse.get().frame();
+			mazeLayer.draw(g, r2D, world, mazeNumber, energizersVisible);
 		}
 		if (PacManGameUI.isDebugDraw()) {
-			DebugDraw.drawMazeStructure(g, world);
+			debugDraw.drawMazeStructure(g, world);
+		}
+	}
+
+	@Override
+	public void onGameEvent(GameEvent e) {
+		if (e.type == GameEventType.PAC_FINDS_FOOD) {
+			e.tile.ifPresentOrElse(mazeLayer::invalidate, mazeLayer::invalidateAll);
 		}
+		super.onGameEvent(e);
+	}
+
+	@Override
+	public void onLevelStarting(GameEvent e) {
+		mazeLayer.invalidateAll();
+	}
+
+	@Override
+	public void onUnspecifiedChange(GameEvent e) {
+		mazeLayer.invalidateAll();
 	}
 
 	@Override
 	public void onGameStateChange(GameStateChangeEvent e) {
+		mazeLayer.invalidateAll();
 		if (e.newGameState == GameState.CHANGING_TO_NEXT_LEVEL) {
 			gameController.terminateCurrentState(); // TODO check if needed
 		}
@@ -31,8 +31,10 @@ import java.awt.image.BufferedImage;
 
 import de.amr.games.pacman.model.common.actors.Ghost;
 import de.amr.games.pacman.model.common.world.World;
+import de.amr.games.pacman.ui.swing.rendering.common.StaticLayer;
 import de.amr.games.pacman.ui.swing.rendering.mspacman.SpritesheetMsPacMan;
 import de.amr.games.pacman.ui.swing.scenes.common.GameScene;
+import de.amr.games.pacman.ui.swing.shell.KeyAction;
 import de.amr.games.pacman.ui.swing.shell.Keyboard;
 
 /**
@@ -40,30 +42,35 @@ import de.amr.games.pacman.ui.swing.shell.Keyboard;
  */
 public class MsPacManCreditScene extends GameScene {
 
+	private final StaticLayer layer = createStaticLayer(0, 0, size.x(), size.y(), this::drawScene);
+
 	@Override
 	public void update() {
-		if (Keyboard.keyPressed("5")) {
+		if (Keyboard.triggered(KeyAction.ADD_CREDIT)) {
 			gameController.addCredit();
-		} else if (Keyboard.keyPressed("1")) {
+		} else if (Keyboard.triggered(KeyAction.START_GAME)) {
 			gameController.startPlaying();
 		}
 	}
 
 	@Override
 	public void render(Graphics2D g) {
+		if (attractModeHudChanged()) {
+			layer.invalidate();
+		}
+		layer.draw(g);
+	}
 
+	private void drawScene(Graphics2D g) {
 		r2D.drawScores(g, game, true);
 
-		g.setFont(r2D.getArcadeFont());
-		g.setColor(r2D.getGhostColor(Ghost.ID_ORANGE_GHOST));
-		g.drawString("PUSH START BUTTON", t(6), t(16));
-		g.drawString("1 PLAYER ONLY", t(8), t(18));
-		g.drawString("ADDITIONAL    AT 10000", t(2), t(25));
-		BufferedImage msPacMan = SpritesheetMsPacMan.get().rhs(1, 0);
+		var orange = r2D.getGhostColor(Ghost.ID_ORANGE_GHOST);
+		r2D.getArcadeGlyphs().drawText(g, "PUSH START BUTTON", orange, t(6), t(16));
+		r2D.getArcadeGlyphs().drawText(g, "1 PLAYER ONLY", orange, t(8), t(18));
+		r2D.getArcadeGlyphs().drawText(g, "ADDITIONAL    AT 10000", orange, t(2), t(25));
+		BufferedImage msPacMan = ((SpritesheetMsPacMan) r2D).rhs(1, 0);
 		r2D.drawSpriteCenteredOverBox(g, msPacMan, t(13) + World.HTS, t(24) - 2);
-		g.setFont(r2D.getArcadeFont());
-		g.setFont(r2D.getArcadeFont().deriveFont(6.0f));
-		g.drawString("PTS", t(25), t(25));
+		r2D.getSmallArcadeGlyphs().drawText(g, "PTS", orange, t(25), t(25));
 
 		r2D.drawCopyright(g, t(6), t(28));
 		r2D.drawCredit(g, game.credit());
@@ -60,17 +60,17 @@ public class MsPacManIntermissionScene1 extends GameScene {
 	@Override
 	public void init() {
 		sceneController.restart(MsPacManIntermission1.IntermissionState.FLAP);
-		ctx.clapperboard.setAnimation(SpritesheetMsPacMan.get().createClapperboardAnimation());
+		ctx.clapperboard.setAnimation(((SpritesheetMsPacMan) r2D).createClapperboardAnimation());
 		ctx.msPac.setAnimations(new PacAnimations(ctx.msPac, r2D));
 		ctx.msPac.animations().ifPresent(EntityAnimationMap::ensureRunning);
 		ctx.pacMan.setAnimations(new PacAnimations(ctx.pacMan, r2D));
-		var husbandMunching = SpritesheetMsPacMan.get().createHusbandMunchingAnimations(ctx.pacMan);
+		var husbandMunching = ((SpritesheetMsPacMan) r2D).createHusbandMunchingAnimations(ctx.pacMan);
 		ctx.pacMan.animations().ifPresent(anims -> anims.put(GameModel.AK_PAC_MUNCHING, husbandMunching));
 		ctx.pacMan.animations().ifPresent(anims -> anims.selectedAnimation().get().ensureRunning());
 		ctx.inky.setAnimations(new GhostAnimations(ctx.inky, r2D));
 		ctx.pinky.setAnimations(new GhostAnimations(ctx.pinky, r2D));
 		heart2D = new Heart2D(ctx.heart);
-		heart2D.setImage(SpritesheetMsPacMan.get().getHeart());
+		heart2D.setImage(((SpritesheetMsPacMan) r2D).getHeart());
 	}
 
 	@Override
@@ -56,11 +56,11 @@ public class MsPacManIntermissionScene2 extends GameScene {
 	@Override
 	public void init() {
 		sceneController.restart(MsPacManIntermission2.IntermissionState.FLAP);
-		ctx.clapperboard.setAnimation(SpritesheetMsPacMan.get().createClapperboardAnimation());
+		ctx.clapperboard.setAnimation(((SpritesheetMsPacMan) r2D).createClapperboardAnimation());
 		ctx.msPacMan.setAnimations(new PacAnimations(ctx.msPacMan, r2D));
 		ctx.msPacMan.animations().ifPresent(EntityAnimationMap::ensureRunning);
 		ctx.pacMan.setAnimations(new PacAnimations(ctx.pacMan, r2D));
-		var husbandMunching = SpritesheetMsPacMan.get().createHusbandMunchingAnimations(ctx.pacMan);
+		var husbandMunching = ((SpritesheetMsPacMan) r2D).createHusbandMunchingAnimations(ctx.pacMan);
 		ctx.pacMan.animations().ifPresent(anims -> anims.put(GameModel.AK_PAC_MUNCHING, husbandMunching));
 		ctx.pacMan.animations().ifPresent(EntityAnimationMap::ensureRunning);
 	}
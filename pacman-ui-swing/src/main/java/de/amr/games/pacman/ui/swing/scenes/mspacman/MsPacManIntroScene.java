@@ -29,6 +29,8 @@ import static de.amr.games.pacman.model.common.world.World.t;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
 
 import de.amr.games.pacman.controller.common.GameController;
 import de.amr.games.pacman.controller.mspacman.MsPacManIntroController;
@@ -36,9 +38,12 @@ import de.amr.games.pacman.controller.mspacman.MsPacManIntroData;
 import de.amr.games.pacman.controller.mspacman.MsPacManIntroState;
 import de.amr.games.pacman.lib.anim.EntityAnimationMap;
 import de.amr.games.pacman.model.common.actors.Ghost;
+import de.amr.games.pacman.ui.swing.lib.ManagedImages;
 import de.amr.games.pacman.ui.swing.rendering.common.GhostAnimations;
 import de.amr.games.pacman.ui.swing.rendering.common.PacAnimations;
+import de.amr.games.pacman.ui.swing.rendering.common.StaticLayer;
 import de.amr.games.pacman.ui.swing.scenes.common.GameScene;
+import de.amr.games.pacman.ui.swing.shell.KeyAction;
 import de.amr.games.pacman.ui.swing.shell.Keyboard;
 
 /**
@@ -48,9 +53,18 @@ import de.amr.games.pacman.ui.swing.shell.Keyboard;
  */
 public class MsPacManIntroScene extends GameScene {
 
+	private static final int NUM_DOTS_X = 32;
+	private static final int NUM_DOTS_Y = 16;
+
 	private MsPacManIntroController sceneController;
 	private MsPacManIntroData ctx;
 
+	/** Everything except the marquee lights and the actors. */
+	private final StaticLayer textLayer = createStaticLayer(0, 0, size.x(), size.y(), this::drawTexts);
+
+	/** The marquee lights cycle through these frames. */
+	private BufferedImage[] marqueeFrames;
+
 	@Override
 	public void setContext(GameController gameController) {
 		super.setContext(gameController);
@@ -71,9 +85,9 @@ public class MsPacManIntroScene extends GameScene {
 
 	@Override
 	public void update() {
-		if (Keyboard.keyPressed("1")) {
+		if (Keyboard.triggered(KeyAction.START_GAME)) {
 			gameController.startPlaying();
-		} else if (Keyboard.keyPressed("5")) {
+		} else if (Keyboard.triggered(KeyAction.ADD_CREDIT)) {
 			gameController.addCredit();
 		} else {
 			sceneController.update();
@@ -82,17 +96,26 @@ public class MsPacManIntroScene extends GameScene {
 
 	@Override
 	public void render(Graphics2D g) {
-		r2D.drawScores(g, gameController.game(), true);
+		if (attractModeHudChanged()) {
+			textLayer.invalidate();
+		}
+		textLayer.draw(g, (long) sceneController.state().ordinal() << 32 | ctx.ghostIndex());
+		drawLights(g);
+		for (var ghost : ctx.ghosts) {
+			r2D.drawGhost(g, ghost);
+		}
+		r2D.drawPac(g, ctx.msPacMan);
+	}
+
+	private void drawTexts(Graphics2D g) {
+		r2D.drawScores(g, game, true);
 		drawTitle(g);
-		drawLights(g, 32, 16);
 		if (sceneController.state() == MsPacManIntroState.GHOSTS) {
 			drawGhostText(g);
 		} else if (sceneController.state() == MsPacManIntroState.MSPACMAN
 				|| sceneController.state() == MsPacManIntroState.READY_TO_PLAY) {
 			drawMsPacManText(g);
 		}
-		ctx.ghosts.forEach(ghost -> r2D.drawGhost(g, ghost));
-		r2D.drawPac(g, ctx.msPacMan);
 		r2D.drawCopyright(g, t(6), t(28));
 		r2D.drawCredit(g, game.credit());
 		if (game.hasCredit()) {
@@ -101,33 +124,44 @@ public class MsPacManIntroScene extends GameScene {
 	}
 
 	private void drawTitle(Graphics2D g) {
-		g.setFont(r2D.getArcadeFont());
-		g.setColor(Color.ORANGE);
-		g.drawString("\"MS PAC-MAN\"", TITLE_TILE.x(), TITLE_TILE.y());
+		r2D.getArcadeGlyphs().drawText(g, "\"MS PAC-MAN\"", Color.ORANGE, TITLE_TILE.x(), TITLE_TILE.y());
 	}
 
 	private void drawGhostText(Graphics2D g) {
-		g.setColor(Color.WHITE);
-		g.setFont(r2D.getArcadeFont());
+		var glyphs = r2D.getArcadeGlyphs();
 		if (ctx.ghostIndex() == 0) {
-			g.drawString("WITH", TITLE_TILE.x(), BLINKY_END_TILE.y() + t(3));
+			glyphs.drawText(g, "WITH", Color.WHITE, TITLE_TILE.x(), BLINKY_END_TILE.y() + t(3));
 		}
 		Ghost ghost = ctx.ghosts.get(ctx.ghostIndex());
-		g.setColor(r2D.getGhostColor(ghost.id()));
-		g.drawString(ghost.name().toUpperCase(), t(14 - ghost.name().length() / 2), BLINKY_END_TILE.y() + t(6));
+		glyphs.drawText(g, ghost.name().toUpperCase(), r2D.getGhostColor(ghost.id()), t(14 - ghost.name().length() / 2),
+				BLINKY_END_TILE.y() + t(6));
 	}
 
 	private void drawMsPacManText(Graphics2D g) {
-		g.setColor(Color.WHITE);
-		g.setFont(r2D.getArcadeFont());
-		g.drawString("STARRING", TITLE_TILE.x(), BLINKY_END_TILE.y() + t(3));
-		g.setColor(Color.YELLOW);
-		g.drawString("MS PAC-MAN", TITLE_TILE.x(), BLINKY_END_TILE.y() + t(6));
+		r2D.getArcadeGlyphs().drawText(g, "STARRING", Color.WHITE, TITLE_TILE.x(), BLINKY_END_TILE.y() + t(3));
+		r2D.getArcadeGlyphs().drawText(g, "MS PAC-MAN", Color.YELLOW, TITLE_TILE.x(), BLINKY_END_TILE.y() + t(6));
+	}
+
+	private void drawLights(Graphics2D g) {
+		if (marqueeFrames == null) {
+			marqueeFrames = createMarqueeFrames(NUM_DOTS_X, NUM_DOTS_Y);
+		}
+		int light = (int) (ctx.lightsTimer.tick() / 2) % marqueeFrames.length;
+		g.drawImage(marqueeFrames[light], BLINKY_END_TILE.x(), BLINKY_END_TILE.y(), null);
+	}
+
+	private static BufferedImage[] createMarqueeFrames(int numDotsX, int numDotsY) {
+		var frames = new BufferedImage[numDotsX / 2];
+		for (int light = 0; light < frames.length; ++light) {
+			frames[light] = ManagedImages.createImage(4 * numDotsX + 2, 4 * numDotsY + 2, Transparency.BITMASK);
+			var g = frames[light].createGraphics();
+			drawLights(g, numDotsX, numDotsY, light);
+			g.dispose();
+		}
+		return frames;
 	}
 
-	private void drawLights(Graphics2D g, int numDotsX, int numDotsY) {
-		long time = ctx.lightsTimer.tick();
-		int light = (int) (time / 2) % (numDotsX / 2);
+	private static void drawLights(Graphics2D g, int numDotsX, int numDotsY, int light) {
 		for (int dot = 0; dot < 2 * (numDotsX + numDotsY); ++dot) {
 			int x = 0;
 			int y = 0;
@@ -143,7 +177,7 @@ public class MsPacManIntroScene extends GameScene {
 				y = 2 * (numDotsX + numDotsY) - dot;
 			}
 			g.setColor((dot + light) % (numDotsX / 2) == 0 ? Color.PINK : Color.RED);
-			g.fillRect(BLINKY_END_TILE.x() + 4 * x, BLINKY_END_TILE.y() + 4 * y, 2, 2);
+			g.fillRect(4 * x, 4 * y, 2, 2);
 		}
 	}
 }
\ No newline at end of file
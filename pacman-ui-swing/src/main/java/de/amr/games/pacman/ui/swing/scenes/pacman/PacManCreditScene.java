@@ -26,11 +26,13 @@ package de.amr.games.pacman.ui.swing.scenes.pacman;
 
 import static de.amr.games.pacman.model.common.world.World.t;
 
-import java.awt.Color;
 import java.awt.Graphics2D;
 
 import de.amr.games.pacman.model.common.actors.Ghost;
+import de.amr.games.pacman.ui.swing.rendering.common.StaticLayer;
+import de.amr.games.pacman.ui.swing.rendering.pacman.SpritesheetPacMan;
 import de.amr.games.pacman.ui.swing.scenes.common.GameScene;
+import de.amr.games.pacman.ui.swing.shell.KeyAction;
 import de.amr.games.pacman.ui.swing.shell.Keyboard;
 
 /**
@@ -38,25 +40,34 @@ import de.amr.games.pacman.ui.swing.shell.Keyboard;
  */
 public class PacManCreditScene extends GameScene {
 
+	private final StaticLayer layer = createStaticLayer(0, 0, size.x(), size.y(), this::drawScene);
+
 	@Override
 	public void update() {
-		if (Keyboard.keyPressed("5")) {
+		if (Keyboard.triggered(KeyAction.ADD_CREDIT)) {
 			gameController.addCredit();
-		} else if (Keyboard.keyPressed("1")) {
+		} else if (Keyboard.triggered(KeyAction.START_GAME)) {
 			gameController.startPlaying();
 		}
 	}
 
 	@Override
 	public void render(Graphics2D g) {
+		if (attractModeHudChanged()) {
+			layer.invalidate();
+		}
+		layer.draw(g);
+	}
+
+	private void drawScene(Graphics2D g) {
 		r2D.drawScores(g, game, true);
-		var arcade8 = r2D.getArcadeFont();
-		var arcade6 = arcade8.deriveFont(6f);
+		var arcade8 = r2D.getArcadeGlyphs();
+		var arcade6 = r2D.getSmallArcadeGlyphs();
 		r2D.drawText(g, "PUSH START BUTTON", r2D.getGhostColor(Ghost.ID_ORANGE_GHOST), arcade8, t(6), t(17));
 		r2D.drawText(g, "1 PLAYER ONLY", r2D.getGhostColor(Ghost.ID_CYAN_GHOST), arcade8, t(8), t(21));
 		r2D.drawText(g, "1 PLAYER ONLY", r2D.getGhostColor(Ghost.ID_CYAN_GHOST), arcade8, t(8), t(21));
-		r2D.drawText(g, "BONUS PAC-MAN FOR 10000", new Color(255, 184, 174), arcade8, t(1), t(25));
-		r2D.drawText(g, "PTS", new Color(255, 184, 174), arcade6, t(25), t(25));
+		r2D.drawText(g, "BONUS PAC-MAN FOR 10000", SpritesheetPacMan.BONUS_TEXT_COLOR, arcade8, t(1), t(25));
+		r2D.drawText(g, "PTS", SpritesheetPacMan.BONUS_TEXT_COLOR, arcade6, t(25), t(25));
 		r2D.drawCopyright(g, t(4), t(29));
 		r2D.drawCredit(g, game.credit());
 		r2D.drawLevelCounter(g, game.levelCounter());
@@ -57,7 +57,7 @@ public class PacManCutscene1 extends GameScene {
 
 		pac = new Pac("Pac-Man");
 		pac.setAnimations(new PacAnimations(pac, r2D));
-		var bigPacAnim = SpritesheetPacMan.get().createBigPacManMunchingAnimation();
+		var bigPacAnim = ((SpritesheetPacMan) r2D).createBigPacManMunchingAnimation();
 		pac.animations().ifPresent(anims -> anims.put(PacManGame.AK_PAC_BIG, bigPacAnim));
 		pac.animations().ifPresent(anims -> anims.select(GameModel.AK_PAC_MUNCHING));
 		pac.animation(GameModel.AK_PAC_MUNCHING).ifPresent(EntityAnimation::restart);
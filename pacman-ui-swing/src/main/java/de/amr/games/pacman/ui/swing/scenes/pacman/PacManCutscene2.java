@@ -68,10 +68,10 @@ public class PacManCutscene2 extends GameScene {
 		pac.setPixelSpeed(1.15f);
 		pac.show();
 
-		stretched = SpritesheetPacMan.get().createBlinkyStretchedAnimation();
+		stretched = ((SpritesheetPacMan) r2D).createBlinkyStretchedAnimation();
 		blinky = new Ghost(Ghost.ID_RED_GHOST, "Blinky");
 		blinky.setAnimations(new GhostAnimations(blinky, r2D));
-		var damagedBlinkyAnimation = SpritesheetPacMan.get().createBlinkyDamagedAnimation();
+		var damagedBlinkyAnimation = ((SpritesheetPacMan) r2D).createBlinkyDamagedAnimation();
 		blinky.animations().ifPresent(anims -> anims.put(PacManGame.AK_BLINKY_DAMAGED, damagedBlinkyAnimation));
 		blinky.animations().ifPresent(anims -> anims.select(GameModel.AK_GHOST_COLOR));
 		blinky.animation(GameModel.AK_GHOST_COLOR).ifPresent(EntityAnimation::restart);
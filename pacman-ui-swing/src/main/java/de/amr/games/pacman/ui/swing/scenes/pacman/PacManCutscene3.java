@@ -59,9 +59,9 @@ public class PacManCutscene3 extends GameScene {
 		blinky = new Ghost(Ghost.ID_RED_GHOST, "Blinky");
 		blinky.setAnimations(new GhostAnimations(blinky, r2D));
 		blinky.animations().ifPresent(
-				anims -> anims.put(PacManGame.AK_BLINKY_PATCHED, SpritesheetPacMan.get().createBlinkyPatchedAnimation()));
+				anims -> anims.put(PacManGame.AK_BLINKY_PATCHED, ((SpritesheetPacMan) r2D).createBlinkyPatchedAnimation()));
 		blinky.animations().ifPresent(
-				anims -> anims.put(PacManGame.AK_BLINKY_NAKED, SpritesheetPacMan.get().createBlinkyNakedAnimation()));
+				anims -> anims.put(PacManGame.AK_BLINKY_NAKED, ((SpritesheetPacMan) r2D).createBlinkyNakedAnimation()));
 	}
 
 	@Override
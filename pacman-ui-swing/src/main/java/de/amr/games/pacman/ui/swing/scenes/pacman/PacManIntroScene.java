@@ -40,7 +40,9 @@ import de.amr.games.pacman.model.common.GameModel;
 import de.amr.games.pacman.model.common.actors.GhostState;
 import de.amr.games.pacman.ui.swing.rendering.common.GhostAnimations;
 import de.amr.games.pacman.ui.swing.rendering.common.PacAnimations;
+import de.amr.games.pacman.ui.swing.rendering.common.StaticLayer;
 import de.amr.games.pacman.ui.swing.scenes.common.GameScene;
+import de.amr.games.pacman.ui.swing.shell.KeyAction;
 import de.amr.games.pacman.ui.swing.shell.Keyboard;
 
 /**
@@ -56,6 +58,16 @@ public class PacManIntroScene extends GameScene {
 	private PacManIntroController intro;
 	private PacManIntroData ctx;
 
+	private final StaticLayer hudTop = createStaticLayer(0, 0, size.x(), t(3), g -> r2D.drawScores(g, game, true));
+	private final StaticLayer hudBottom = createStaticLayer(0, t(34), size.x(), t(2), g -> {
+		r2D.drawCredit(g, game.credit());
+		r2D.drawLevelCounter(g, game.levelCounter());
+	});
+	private final StaticLayer gallery = createStaticLayer(0, t(5), size.x(), t(13), this::drawGallery);
+	private final StaticLayer pointsTable = createStaticLayer(t(11), t(23), t(10), t(5), g -> drawPointsTable(g, 11, 25));
+	private final StaticLayer copyright = createStaticLayer(0, t(29), size.x(), t(4),
+			g -> r2D.drawCopyright(g, t(3), t(32)));
+
 	@Override
 	public void setContext(GameController gameController) {
 		super.setContext(gameController);
@@ -73,6 +85,7 @@ public class PacManIntroScene extends GameScene {
 	}
 
 	private void onSceneStateChange(PacManIntroState fromState, PacManIntroState toState) {
+		invalidateStaticLayers();
 		if (fromState == PacManIntroState.CHASING_PAC && toState == PacManIntroState.CHASING_GHOSTS) {
 			for (var ghost : ctx.ghosts) {
 				ghost.animations().ifPresent(anims -> anims.select(GameModel.AK_GHOST_BLUE));
@@ -82,9 +95,9 @@ public class PacManIntroScene extends GameScene {
 
 	@Override
 	public void update() {
-		if (Keyboard.keyPressed("1")) {
+		if (Keyboard.triggered(KeyAction.START_GAME)) {
 			gameController.startPlaying();
-		} else if (Keyboard.keyPressed("5")) {
+		} else if (Keyboard.triggered(KeyAction.ADD_CREDIT)) {
 			gameController.addCredit();
 		} else {
 			intro.update();
@@ -117,23 +130,23 @@ public class PacManIntroScene extends GameScene {
 		switch (intro.state()) {
 		case START, PRESENTING_GHOSTS -> {
 			drawHUD(g);
-			drawGallery(g);
+			gallery.draw(g, galleryKey());
 		}
 		case SHOWING_POINTS -> {
 			drawHUD(g);
-			drawGallery(g);
+			gallery.draw(g, galleryKey());
 			drawPoints(g, 11, 25);
 			var timer = intro.state().timer();
 			if (timer.tick() > timer.secToTicks(1)) {
 				drawEnergizer(g);
-				r2D.drawCopyright(g, t(3), t(32));
+				copyright.draw(g);
 			}
 		}
 		case CHASING_PAC -> {
 			drawHUD(g);
-			drawGallery(g);
+			gallery.draw(g, galleryKey());
 			drawPoints(g, 11, 25);
-			r2D.drawCopyright(g, t(3), t(32));
+			copyright.draw(g);
 			if (Boolean.TRUE.equals(PacManIntroData.BLINKING.frame())) {
 				drawEnergizer(g);
 			}
@@ -142,14 +155,14 @@ public class PacManIntroScene extends GameScene {
 		}
 		case CHASING_GHOSTS -> {
 			drawHUD(g);
-			drawGallery(g);
+			gallery.draw(g, galleryKey());
 			drawPoints(g, 11, 25);
-			r2D.drawCopyright(g, t(3), t(32));
+			copyright.draw(g);
 			drawGuys(g, 0);
 		}
 		case READY_TO_PLAY -> {
 			drawHUD(g);
-			drawGallery(g);
+			gallery.draw(g, galleryKey());
 			drawPoints(g, 11, 25);
 			drawGuys(g, 0);
 		}
@@ -163,9 +176,21 @@ public class PacManIntroScene extends GameScene {
 	}
 
 	private void drawHUD(Graphics2D g) {
-		r2D.drawScores(g, game, true);
-		r2D.drawCredit(g, game.credit());
-		r2D.drawLevelCounter(g, game.levelCounter());
+		if (attractModeHudChanged()) {
+			hudTop.invalidate();
+			hudBottom.invalidate();
+		}
+		hudTop.draw(g);
+		hudBottom.draw(g);
+	}
+
+	private long galleryKey() {
+		long key = 0;
+		for (int id = 0; id < 4; ++id) {
+			key = key << 3 | (ctx.pictureVisible[id] ? 4 : 0) | (ctx.characterVisible[id] ? 2 : 0)
+					| (ctx.nicknameVisible[id] ? 1 : 0);
+		}
+		return key;
 	}
 
 	private void drawGuys(Graphics2D g, int offset) {
@@ -180,40 +205,43 @@ public class PacManIntroScene extends GameScene {
 	}
 
 	private void drawGallery(Graphics2D g) {
-		g.setColor(Color.WHITE);
-		g.setFont(r2D.getArcadeFont());
-		g.drawString("CHARACTER", t(6), t(6));
-		g.drawString("/", t(16), t(6));
-		g.drawString("NICKNAME", t(18), t(6));
+		var glyphs = r2D.getArcadeGlyphs();
+		glyphs.drawText(g, "CHARACTER", Color.WHITE, t(6), t(6));
+		glyphs.drawText(g, "/", Color.WHITE, t(16), t(6));
+		glyphs.drawText(g, "NICKNAME", Color.WHITE, t(18), t(6));
 		for (int id = 0; id < 4; ++id) {
 			if (ctx.pictureVisible[id]) {
 				int tileY = 7 + 3 * id;
 				r2D.drawSpriteCenteredOverBox(g, r2D.getGhostSprite(id, Direction.RIGHT), t(3), t(tileY));
+				var color = r2D.getGhostColor(id);
 				if (ctx.characterVisible[id]) {
-					g.setColor(r2D.getGhostColor(id));
-					g.drawString("-" + PacManIntroData.CHARACTERS[id], t(6), t(tileY + 1));
+					int x = glyphs.drawChar(g, '-', color, t(6), t(tileY + 1));
+					glyphs.drawText(g, PacManIntroData.CHARACTERS[id], color, x, t(tileY + 1));
 				}
 				if (ctx.nicknameVisible[id]) {
-					g.setColor(r2D.getGhostColor(id));
-					g.drawString("\"" + intro.context().ghosts[id].name() + "\"", t(17), t(tileY + 1));
+					int x = glyphs.drawChar(g, '"', color, t(17), t(tileY + 1));
+					x = glyphs.drawText(g, intro.context().ghosts[id].name(), color, x, t(tileY + 1));
+					glyphs.drawChar(g, '"', color, x, t(tileY + 1));
 				}
 			}
 		}
 	}
 
 	private void drawPoints(Graphics2D g, int tileX, int tileY) {
-		g.setColor(r2D.getFoodColor(1));
-		g.fillRect(t(tileX) + 6, t(tileY - 1) + 2, 2, 2);
+		pointsTable.draw(g);
 		if (Boolean.TRUE.equals(PacManIntroData.BLINKING.frame())) {
+			g.setColor(r2D.getFoodColor(1));
 			g.fillOval(t(tileX), t(tileY + 1) - 2, 10, 10);
 		}
-		g.setColor(Color.WHITE);
-		g.setFont(r2D.getArcadeFont());
-		g.drawString("10", t(tileX + 2), t(tileY));
-		g.drawString("50", t(tileX + 2), t(tileY + 2));
-		g.setFont(r2D.getArcadeFont().deriveFont(6f));
-		g.drawString("PTS", t(tileX + 5), t(tileY));
-		g.drawString("PTS", t(tileX + 5), t(tileY + 2));
+	}
+
+	private void drawPointsTable(Graphics2D g, int tileX, int tileY) {
+		g.setColor(r2D.getFoodColor(1));
+		g.fillRect(t(tileX) + 6, t(tileY - 1) + 2, 2, 2);
+		r2D.getArcadeGlyphs().drawText(g, "10", Color.WHITE, t(tileX + 2), t(tileY));
+		r2D.getArcadeGlyphs().drawText(g, "50", Color.WHITE, t(tileX + 2), t(tileY + 2));
+		r2D.getSmallArcadeGlyphs().drawText(g, "PTS", Color.WHITE, t(tileX + 5), t(tileY));
+		r2D.getSmallArcadeGlyphs().drawText(g, "PTS", Color.WHITE, t(tileX + 5), t(tileY + 2));
 	}
 
 	private void drawEnergizer(Graphics2D g) {
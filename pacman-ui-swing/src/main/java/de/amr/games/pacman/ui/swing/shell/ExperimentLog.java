@@ -0,0 +1,79 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.shell;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import de.amr.games.pacman.event.GameEvent;
+import de.amr.games.pacman.event.GameEventType;
+
+/**
+ * Writes the experiment log: one line per entry, starting with the current time in milliseconds. Entries may be logged
+ * from any thread.
+ * 
+ * @author Armin Reichert
+ */
+public class ExperimentLog {
+
+	private final Writer writer;
+
+	public ExperimentLog(Writer writer) {
+		this.writer = writer;
+	}
+
+	public synchronized void log(String line) {
+		try {
+			writer.write(System.currentTimeMillis() + "," + line + "\n");
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Logs game state changes as <code>event,&lt;new state&gt;</code>, ignores all other events.
+	 * 
+	 * @param event game event
+	 */
+	public void logGameEvent(GameEvent event) {
+		if (event.type.equals(GameEventType.GAME_STATE_CHANGED)) {
+			String transition = event.toString();
+			String nextState = transition.substring(transition.indexOf("->") + 2);
+			log("event," + nextState.substring(0, nextState.indexOf(")")));
+		}
+	}
+
+	public void logLevelStarting(int levelNumber) {
+		log("event,level " + levelNumber);
+	}
+
+	public void close() {
+		try {
+			writer.flush();
+			writer.close();
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
\ No newline at end of file
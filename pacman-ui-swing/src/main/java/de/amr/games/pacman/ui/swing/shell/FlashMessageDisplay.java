@@ -26,6 +26,7 @@ package de.amr.games.pacman.ui.swing.shell;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.util.ArrayDeque;
 import java.util.Deque;
@@ -44,6 +45,7 @@ public class FlashMessageDisplay {
 		public final String text;
 		private final long displayTimeMillis;
 		private final long createdAt;
+		private int width = -1; // computed on first display
 
 		public FlashMessage(String text, double seconds) {
 			this.text = text;
@@ -56,11 +58,31 @@ public class FlashMessageDisplay {
 		}
 	}
 
+	private static final Font FONT = new Font(Font.MONOSPACED, Font.BOLD, 16);
+	private static final Color[] FADE_COLORS = new Color[256];
+
+	static {
+		for (int alpha = 0; alpha < FADE_COLORS.length; ++alpha) {
+			FADE_COLORS[alpha] = new Color(204, 204, 204, alpha);
+		}
+	}
+
 	private final Vector2i unscaledSize;
+	private final Rectangle area;
 	private final Deque<FlashMessage> flashMessageQ = new ArrayDeque<>();
 
 	public FlashMessageDisplay(Vector2i unscaledSize) {
 		this.unscaledSize = unscaledSize;
+		// from the top of the centered text down to the black bar at the bottom
+		int top = unscaledSize.y() / 2 - FONT.getSize();
+		area = new Rectangle(0, top, unscaledSize.x(), unscaledSize.y() - 4 - top);
+	}
+
+	/**
+	 * @return area covered by the messages, must not be modified
+	 */
+	public Rectangle area() {
+		return area;
 	}
 
 	public void update() {
@@ -70,6 +92,13 @@ public class FlashMessageDisplay {
 		}
 	}
 
+	/**
+	 * @return if a message is displayed
+	 */
+	public boolean isActive() {
+		return !flashMessageQ.isEmpty();
+	}
+
 	public void render(Graphics2D g) {
 		var message = flashMessageQ.peek();
 		if (message != null) {
@@ -77,11 +106,13 @@ public class FlashMessageDisplay {
 			double alpha = Math.abs(Math.cos(0.5 * Math.PI * t));
 			g.setColor(Color.BLACK);
 			g.fillRect(0, unscaledSize.y() - 16, unscaledSize.x(), 12);
-			g.setColor(new Color(0.8f, 0.8f, 0.8f, (float) alpha));
-			g.setFont(new Font(Font.MONOSPACED, Font.BOLD, 16));
+			g.setColor(FADE_COLORS[(int) Math.round(alpha * 255)]);
+			g.setFont(FONT);
 			g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-			g.drawString(message.text, (unscaledSize.x() - g.getFontMetrics().stringWidth(message.text)) / 2,
-					unscaledSize.y() / 2);
+			if (message.width == -1) {
+				message.width = g.getFontMetrics().stringWidth(message.text);
+			}
+			g.drawString(message.text, (unscaledSize.x() - message.width) / 2, unscaledSize.y() / 2);
 			g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
 		}
 	}
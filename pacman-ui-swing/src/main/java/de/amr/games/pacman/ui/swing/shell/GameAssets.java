@@ -0,0 +1,151 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.shell;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import de.amr.games.pacman.model.common.GameVariant;
+import de.amr.games.pacman.ui.swing.app.AssetLoader;
+import de.amr.games.pacman.ui.swing.rendering.common.Rendering2D;
+import de.amr.games.pacman.ui.swing.rendering.mspacman.SpritesheetMsPacMan;
+import de.amr.games.pacman.ui.swing.rendering.pacman.SpritesheetPacMan;
+import de.amr.games.pacman.ui.swing.sound.GameSounds;
+import de.amr.games.pacman.ui.swing.sound.MsPacManGameSounds;
+import de.amr.games.pacman.ui.swing.sound.PacManGameSounds;
+
+/**
+ * The asset groups of the UI, loaded in the background by an {@link AssetLoader}.
+ * <p>
+ * Only the sprite sheet (images, mazes, fonts) of the active game variant is loaded with priority and held strongly.
+ * After it is available, the sheets of the other variants are warmed by a low-priority loader. These are only softly
+ * reachable (see {@link SpritesheetPacMan#get()}), so the JVM may evict them under memory pressure, they are reloaded
+ * when their variant gets activated again. Sounds are loaded on first request.
+ * 
+ * @author Armin Reichert
+ */
+public class GameAssets {
+
+	private final AssetLoader loader;
+	private final AssetLoader backgroundLoader;
+	private final Map<GameVariant, CompletableFuture<GameSounds>> sounds = new EnumMap<>(GameVariant.class);
+	private volatile GameVariant activeVariant;
+	private volatile CompletableFuture<? extends Rendering2D> activeSprites;
+
+	/**
+	 * @param loader           loader for the assets of the active variant
+	 * @param backgroundLoader low-priority loader warming the assets of the other variants
+	 * @param variant          initially active game variant
+	 */
+	public GameAssets(AssetLoader loader, AssetLoader backgroundLoader, GameVariant variant) {
+		this.loader = loader;
+		this.backgroundLoader = backgroundLoader;
+		activate(variant);
+	}
+
+	private static Supplier<? extends Rendering2D> spritesheet(GameVariant variant) {
+		return switch (variant) {
+		case MS_PACMAN -> SpritesheetMsPacMan::get;
+		case PACMAN -> SpritesheetPacMan::get;
+		};
+	}
+
+	private static String spritesGroup(GameVariant variant) {
+		return switch (variant) {
+		case MS_PACMAN -> "Ms. Pac-Man sprites";
+		case PACMAN -> "Pac-Man sprites";
+		};
+	}
+
+	/**
+	 * Makes the given variant the active one. Its sprite sheet is loaded (if not cached) and held strongly, then the
+	 * other variants are warmed in the background.
+	 * 
+	 * @param variant game variant
+	 */
+	public synchronized void activate(GameVariant variant) {
+		if (variant == activeVariant) {
+			return;
+		}
+		activeVariant = variant;
+		var cached = spritesIfLoaded(variant);
+		if (cached != null) {
+			activeSprites = CompletableFuture.completedFuture(cached);
+		} else {
+			activeSprites = loader.load(spritesGroup(variant), spritesheet(variant));
+		}
+		activeSprites.thenRun(() -> warmOthers(variant));
+	}
+
+	private void warmOthers(GameVariant active) {
+		for (var variant : GameVariant.values()) {
+			if (variant != active && spritesIfLoaded(variant) == null) {
+				// the future must not reference the sheet, else it could not be evicted
+				backgroundLoader.load(spritesGroup(variant) + " (warm)", () -> spritesheet(variant).get() != null);
+			}
+		}
+	}
+
+	/**
+	 * @param variant game variant
+	 * @return the rendering (sprite sheet) of the given variant, loads it if necessary
+	 * @see #isLoaded() check before calling on the game loop thread, this call blocks until the sheet is loaded
+	 */
+	public Rendering2D sprites(GameVariant variant) {
+		return variant == activeVariant ? activeSprites.join() : spritesheet(variant).get();
+	}
+
+	/**
+	 * @param variant game variant
+	 * @return the rendering of the given variant if already loaded, else {@code null}
+	 */
+	public Rendering2D spritesIfLoaded(GameVariant variant) {
+		return switch (variant) {
+		case MS_PACMAN -> SpritesheetMsPacMan.getIfLoaded();
+		case PACMAN -> SpritesheetPacMan.getIfLoaded();
+		};
+	}
+
+	/**
+	 * @return {@code true} if the sprite sheet of the active variant has been loaded (or failed)
+	 */
+	public boolean isLoaded() {
+		return activeSprites.isDone();
+	}
+
+	/**
+	 * Starts loading the sounds of the given variant if not yet done.
+	 * 
+	 * @param variant game variant
+	 * @return future providing the sounds
+	 */
+	public synchronized CompletableFuture<GameSounds> sounds(GameVariant variant) {
+		return sounds.computeIfAbsent(variant, v -> switch (v) {
+		case MS_PACMAN -> loader.load("Ms. Pac-Man sounds", MsPacManGameSounds::new);
+		case PACMAN -> loader.load("Pac-Man sounds", PacManGameSounds::new);
+		});
+	}
+}
\ No newline at end of file
@@ -0,0 +1,221 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.shell;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import de.amr.games.pacman.lib.steering.Direction;
+import de.amr.games.pacman.model.common.actors.Creature;
+import de.amr.games.pacman.ui.swing.app.LatencyHistogram;
+
+/**
+ * Traces steering key presses from the keyboard to the screen ("input-to-photon" latency).
+ * <p>
+ * A trace follows one press through three stages:
+ * <ol>
+ * <li>{@link #inputSteered}: the press sets the wish direction of Pac-Man (game loop thread),</li>
+ * <li>{@link #tickCompleted}: the first tick after which the move direction of Pac-Man equals the wish direction (game
+ * loop thread),</li>
+ * <li>{@link #framePresented}: the first buffer strategy show of a snapshot of that tick or a later one (render
+ * thread).</li>
+ * </ol>
+ * The time from receiving the press to the return of the show call is recorded into the {@link #histogram()} if the
+ * direction changed in the tick in which the press has been steered. Presses taking effect later, e.g. when turning
+ * before a junction, include game rule delays and are only written to the experiment log, if logging is enabled:
+ * <code>inputlatency,&lt;press id&gt;,&lt;direction&gt;,&lt;ticks waited&gt;,&lt;press to tick end
+ * &micro;s&gt;,&lt;press to show &micro;s&gt;</code>. The log lines are handed to the game loop thread and written
+ * at the end of the next tick, so the render thread never waits for the log file.
+ * <p>
+ * A press superseded by another one before taking effect is dropped, as is a press of the current move direction.
+ * 
+ * @author Armin Reichert
+ */
+public class InputLatencyTracer {
+
+	private static final int MAX_TRACES = 16;
+
+	private final ExperimentLog explog;
+	private volatile boolean logging;
+
+	// steered press waiting for the direction change, game loop thread only
+	private Creature pac;
+	private Direction pendingDir;
+	private long pendingId;
+	private long pendingPressNanos;
+	private long pendingTick;
+	private long lastTick;
+
+	// presses that took effect, waiting to be presented; ring guarded by this
+	private final long[] traceId = new long[MAX_TRACES];
+	private final Direction[] traceDir = new Direction[MAX_TRACES];
+	private final long[] tracePressNanos = new long[MAX_TRACES];
+	private final long[] traceTick = new long[MAX_TRACES];
+	private final long[] traceWaitedTicks = new long[MAX_TRACES];
+	private final long[] traceTickEndNanos = new long[MAX_TRACES];
+	private int head;
+	private int count;
+	private volatile long oldestTraceTick = Long.MAX_VALUE;
+	private long droppedTraces;
+
+	// render thread only, completed traces are copied here and reported outside the lock
+	private final LatencyHistogram histogram = new LatencyHistogram();
+	private final long[] doneId = new long[MAX_TRACES];
+	private final Direction[] doneDir = new Direction[MAX_TRACES];
+	private final long[] donePressNanos = new long[MAX_TRACES];
+	private final long[] doneWaitedTicks = new long[MAX_TRACES];
+	private final long[] doneTickEndNanos = new long[MAX_TRACES];
+
+	// log lines of completed traces, written by the game loop thread like all other experiment log entries
+	private final Queue<String> logLines = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * @param explog experiment log receiving the traces if {@link #setLogging(boolean) logging} is enabled
+	 */
+	public InputLatencyTracer(ExperimentLog explog) {
+		this.explog = explog;
+	}
+
+	/**
+	 * @return histogram of the press-to-show latencies of presses taking effect without game rule delay
+	 */
+	public LatencyHistogram histogram() {
+		return histogram;
+	}
+
+	public boolean isLogging() {
+		return logging;
+	}
+
+	/**
+	 * @param logging if each completed trace is written to the experiment log
+	 */
+	public void setLogging(boolean logging) {
+		this.logging = logging;
+	}
+
+	/**
+	 * @return number of traces dropped because too many were waiting to be presented
+	 */
+	public synchronized long droppedTraces() {
+		return droppedTraces;
+	}
+
+	/**
+	 * Called by the steering after a key press has set the wish direction.
+	 * 
+	 * @param pressId    ID of the press, see {@link Keyboard#lastTriggerId()}
+	 * @param pressNanos time when the press has been received
+	 * @param pac        steered creature
+	 * @param dir        new wish direction
+	 */
+	public void inputSteered(long pressId, long pressNanos, Creature pac, Direction dir) {
+		this.pac = pac;
+		if (pac.moveDir() == dir) {
+			pendingDir = null;
+			return;
+		}
+		pendingDir = dir;
+		pendingId = pressId;
+		pendingPressNanos = pressNanos;
+		pendingTick = lastTick + 1;
+	}
+
+	/**
+	 * Called by the game loop thread after each tick.
+	 * 
+	 * @param tick number of the completed tick, as published with the render snapshot
+	 */
+	public void tickCompleted(long tick) {
+		lastTick = tick;
+		for (String line = logLines.poll(); line != null; line = logLines.poll()) {
+			explog.log(line);
+		}
+		if (pendingDir == null) {
+			return;
+		}
+		if (pac.wishDir() != pendingDir) {
+			pendingDir = null; // changed by someone else, e.g. the autopilot
+		} else if (pac.moveDir() == pendingDir) {
+			addTrace(tick, System.nanoTime());
+			pendingDir = null;
+		}
+	}
+
+	private synchronized void addTrace(long tick, long tickEndNanos) {
+		if (count == MAX_TRACES) {
+			head = (head + 1) % MAX_TRACES;
+			--count;
+			++droppedTraces;
+		}
+		int i = (head + count) % MAX_TRACES;
+		traceId[i] = pendingId;
+		traceDir[i] = pendingDir;
+		tracePressNanos[i] = pendingPressNanos;
+		traceTick[i] = tick;
+		traceWaitedTicks[i] = tick - pendingTick;
+		traceTickEndNanos[i] = tickEndNanos;
+		++count;
+		oldestTraceTick = traceTick[head];
+	}
+
+	/**
+	 * Called by the render thread after a snapshot has been shown.
+	 * 
+	 * @param tick         tick of the shown snapshot
+	 * @param showEndNanos time when the show call returned
+	 */
+	public void framePresented(long tick, long showEndNanos) {
+		if (tick < oldestTraceTick) {
+			return; // nothing to complete, checked without locking
+		}
+		int done = 0;
+		synchronized (this) {
+			while (count > 0 && traceTick[head] <= tick) {
+				doneId[done] = traceId[head];
+				doneDir[done] = traceDir[head];
+				donePressNanos[done] = tracePressNanos[head];
+				doneWaitedTicks[done] = traceWaitedTicks[head];
+				doneTickEndNanos[done] = traceTickEndNanos[head];
+				++done;
+				traceDir[head] = null;
+				head = (head + 1) % MAX_TRACES;
+				--count;
+			}
+			oldestTraceTick = count > 0 ? traceTick[head] : Long.MAX_VALUE;
+		}
+		// reported outside the lock, so the game loop thread never waits for the formatting
+		for (int i = 0; i < done; ++i) {
+			long latency = showEndNanos - donePressNanos[i];
+			if (doneWaitedTicks[i] == 0) {
+				histogram.record(latency, showEndNanos);
+			}
+			if (logging) {
+				logLines.add(String.format("inputlatency,%d,%s,%d,%d,%d", doneId[i], doneDir[i], doneWaitedTicks[i],
+						(doneTickEndNanos[i] - donePressNanos[i]) / 1000, latency / 1000));
+			}
+			doneDir[i] = null;
+		}
+	}
+}
\ No newline at end of file
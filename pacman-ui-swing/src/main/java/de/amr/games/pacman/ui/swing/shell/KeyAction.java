@@ -0,0 +1,67 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.shell;
+
+/**
+ * Actions that can be bound to keys. Each action has a default key stroke which can be overridden by a key bindings
+ * file, see {@link KeyBindings}.
+ * 
+ * @author Armin Reichert
+ */
+public enum KeyAction {
+
+	//@formatter:off
+	PAC_UP("Up"),
+	PAC_DOWN("Down"),
+	PAC_LEFT("Left"),
+	PAC_RIGHT("Right"),
+	START_GAME("1"),
+	ADD_CREDIT("5"),
+	TOGGLE_AUTOPILOT("A"),
+	TOGGLE_DEBUG_DRAW("Ctrl+D"),
+	EAT_ALL_PELLETS("E"),
+	TOGGLE_IMMUNITY("I"),
+	ADD_LIVES("L"),
+	LOG_IMAGE_DIAGNOSTICS("M"),
+	NEXT_LEVEL("N"),
+	TOGGLE_PERF_OVERLAY("P"),
+	RESTART_INTRO("Q"),
+	RENDER_FASTER("Ctrl+S"),
+	RENDER_SLOWER("Ctrl+Shift+S"),
+	TOGGLE_LATE_LATCH("K"),
+	TOGGLE_LATENCY_TITLE("T"),
+	NEXT_VARIANT("V"),
+	KILL_GHOSTS("X"),
+	CUTSCENES_TEST("Z"),
+	TOGGLE_SKIP_CONTROLS(","),
+	TOGGLE_SKIP_FRAMES(".");
+	//@formatter:on
+
+	/** Default key stroke like "A", "Ctrl+Shift+S" or "Up". */
+	public final String defaultStroke;
+
+	private KeyAction(String defaultStroke) {
+		this.defaultStroke = defaultStroke;
+	}
+}
\ No newline at end of file
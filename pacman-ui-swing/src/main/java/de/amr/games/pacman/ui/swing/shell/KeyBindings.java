@@ -0,0 +1,178 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.shell;
+
+import static de.amr.games.pacman.ui.swing.shell.Keyboard.MOD_ALT;
+import static de.amr.games.pacman.ui.swing.shell.Keyboard.MOD_CTRL;
+import static de.amr.games.pacman.ui.swing.shell.Keyboard.MOD_NONE;
+import static de.amr.games.pacman.ui.swing.shell.Keyboard.MOD_SHIFT;
+
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Key bindings compiled into a table indexed by modifier mask and key code, so resolving a key press to its action is a
+ * single array access.
+ * <p>
+ * A bindings file is a properties file mapping action names to one or more space-separated key strokes, for example:
+ * 
+ * <pre>
+ * PAC_UP = W Up
+ * TOGGLE_DEBUG_DRAW = Ctrl+D
+ * RENDER_SLOWER = Ctrl+Shift+S
+ * </pre>
+ * 
+ * Actions not listed in the file keep their default key stroke.
+ * 
+ * @author Armin Reichert
+ */
+public class KeyBindings {
+
+	private static final int NUM_MODIFIER_MASKS = 8;
+
+	/**
+	 * @return the default key bindings
+	 */
+	public static KeyBindings defaults() {
+		var bindings = new KeyBindings();
+		for (var action : KeyAction.values()) {
+			bindings.bind(action, action.defaultStroke);
+		}
+		return bindings;
+	}
+
+	/**
+	 * Reads key bindings from the given properties file on top of the default bindings.
+	 * 
+	 * @param path path of bindings file
+	 * @return the key bindings
+	 * @throws IOException              if the file cannot be read
+	 * @throws IllegalArgumentException if the file contains an unknown action or key stroke
+	 */
+	public static KeyBindings load(Path path) throws IOException {
+		var props = new Properties();
+		try (Reader reader = Files.newBufferedReader(path)) {
+			props.load(reader);
+		}
+		var bindings = defaults();
+		for (var name : props.stringPropertyNames()) {
+			KeyAction action;
+			try {
+				action = KeyAction.valueOf(name.trim());
+			} catch (IllegalArgumentException x) {
+				throw new IllegalArgumentException(String.format("%s: Unknown key action: %s", path, name));
+			}
+			bindings.unbind(action);
+			for (var stroke : props.getProperty(name).trim().split("\\s+")) {
+				try {
+					bindings.bind(action, stroke);
+				} catch (IllegalArgumentException x) {
+					throw new IllegalArgumentException(String.format("%s: %s", path, x.getMessage()));
+				}
+			}
+		}
+		return bindings;
+	}
+
+	private final KeyAction[] table = new KeyAction[NUM_MODIFIER_MASKS * Keyboard.NUM_CODES];
+
+	/**
+	 * @param modifiers modifier mask, see {@link Keyboard#MOD_ALT} etc.
+	 * @param code      key code
+	 * @return action bound to this key stroke or {@code null}
+	 */
+	public KeyAction action(int modifiers, int code) {
+		return table[modifiers * Keyboard.NUM_CODES + code];
+	}
+
+	/**
+	 * Binds a key stroke to an action. A stroke previously bound to another action is taken over.
+	 * 
+	 * @param action action
+	 * @param stroke key stroke like "A", "Ctrl+Shift+S" or "Up"
+	 */
+	public void bind(KeyAction action, String stroke) {
+		var parts = stroke.split("\\+");
+		byte modifiers = MOD_NONE;
+		for (int i = 0; i < parts.length - 1; ++i) {
+			modifiers |= switch (parts[i].toLowerCase()) {
+			case "alt" -> MOD_ALT;
+			case "ctrl" -> MOD_CTRL;
+			case "shift" -> MOD_SHIFT;
+			default -> throw new IllegalArgumentException(String.format("Unknown modifier in key stroke: %s", stroke));
+			};
+		}
+		int code = Keyboard.code(parts[parts.length - 1]);
+		if (code <= 0 || code >= Keyboard.NUM_CODES) {
+			throw new IllegalArgumentException(String.format("Key code %d of key stroke %s not supported", code, stroke));
+		}
+		table[modifiers * Keyboard.NUM_CODES + code] = action;
+	}
+
+	/**
+	 * Removes all key strokes bound to the given action.
+	 * 
+	 * @param action action
+	 */
+	public void unbind(KeyAction action) {
+		for (int i = 0; i < table.length; ++i) {
+			if (table[i] == action) {
+				table[i] = null;
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		var sb = new StringBuilder();
+		for (var action : KeyAction.values()) {
+			sb.append(String.format("%-22s", action));
+			for (int i = 0; i < table.length; ++i) {
+				if (table[i] == action) {
+					sb.append(' ').append(strokeText(i / Keyboard.NUM_CODES, i % Keyboard.NUM_CODES));
+				}
+			}
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+
+	private static String strokeText(int modifiers, int code) {
+		var sb = new StringBuilder();
+		if ((modifiers & MOD_ALT) != 0) {
+			sb.append("Alt+");
+		}
+		if ((modifiers & MOD_CTRL) != 0) {
+			sb.append("Ctrl+");
+		}
+		if ((modifiers & MOD_SHIFT) != 0) {
+			sb.append("Shift+");
+		}
+		return sb.append(KeyEvent.getKeyText(code)).toString();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.shell;
+
+/**
+ * Bounded single-producer/single-consumer ring buffer of key presses. The producer is the event dispatch thread, the
+ * consumer the game loop thread. Events are stored in preallocated parallel arrays, so neither side allocates. If the
+ * ring is full, new events are dropped and counted, the producer never waits.
+ * 
+ * @author Armin Reichert
+ */
+public class KeyEventRing {
+
+	/**
+	 * Receives the events drained from the ring.
+	 */
+	public interface Handler {
+
+		/**
+		 * @param keyCode   virtual key code of the pressed key
+		 * @param modifiers modifier mask, see {@link Keyboard#MOD_ALT} etc.
+		 * @param nanos     time ({@link System#nanoTime()}) when the event has been received from the event queue
+		 */
+		void onKeyPressed(int keyCode, byte modifiers, long nanos);
+	}
+
+	private final int mask;
+	private final int[] keyCodes;
+	private final byte[] modifiers;
+	private final long[] nanos;
+
+	private volatile long head; // next slot to read, written by consumer only
+	private volatile long tail; // next slot to write, written by producer only
+	private volatile long droppedCount;
+
+	/**
+	 * @param capacity maximum number of pending events, rounded up to a power of two
+	 */
+	public KeyEventRing(int capacity) {
+		if (capacity < 1 || capacity > 1 << 30) {
+			throw new IllegalArgumentException("Capacity must be between 1 and 2^30 but is %d".formatted(capacity));
+		}
+		int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+		mask = size - 1;
+		keyCodes = new int[size];
+		modifiers = new byte[size];
+		nanos = new long[size];
+	}
+
+	/**
+	 * @return maximum number of pending events
+	 */
+	public int capacity() {
+		return mask + 1;
+	}
+
+	/**
+	 * Adds a key press. Must only be called by the producer thread.
+	 * 
+	 * @return {@code false} if the ring is full and the event has been dropped
+	 */
+	public boolean offer(int keyCode, byte modifierMask, long nanoTime) {
+		long t = tail;
+		if (t - head > mask) {
+			droppedCount = droppedCount + 1;
+			return false;
+		}
+		int i = (int) t & mask;
+		keyCodes[i] = keyCode;
+		modifiers[i] = modifierMask;
+		nanos[i] = nanoTime;
+		tail = t + 1; // publishes the slot
+		return true;
+	}
+
+	/**
+	 * Passes all pending events in order to the handler. Must only be called by the consumer thread.
+	 * 
+	 * @param handler event handler
+	 * @return number of events drained
+	 */
+	public int drain(Handler handler) {
+		long h = head;
+		long t = tail;
+		for (long n = h; n < t; ++n) {
+			int i = (int) n & mask;
+			handler.onKeyPressed(keyCodes[i], modifiers[i], nanos[i]);
+		}
+		head = t; // releases the slots
+		return (int) (t - h);
+	}
+
+	/**
+	 * @return number of events dropped because the ring was full
+	 */
+	public long droppedCount() {
+		return droppedCount;
+	}
+}
\ No newline at end of file
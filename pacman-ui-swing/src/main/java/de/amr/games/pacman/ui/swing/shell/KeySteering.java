@@ -28,9 +28,6 @@ import de.amr.games.pacman.lib.steering.Direction;
 import de.amr.games.pacman.model.common.GameLevel;
 import de.amr.games.pacman.model.common.actors.Creature;
 
-import java.io.FileWriter;
-import java.io.IOException;
-
 /**
  * Controls the player using the keyboard.
  * 
@@ -38,19 +35,22 @@ import java.io.IOException;
  */
 public class KeySteering implements Steering {
 
-	private String up;
-	private String down;
-	private String left;
-	private String right;
+	private KeyAction up;
+	private KeyAction down;
+	private KeyAction left;
+	private KeyAction right;
 
 	private double control_error_percent = 0.2;
 
 	private boolean skipControls = false;
 
-	FileWriter fw = null;
+	private final ExperimentLog explog;
+	private final InputLatencyTracer latencyTracer;
 
-	public KeySteering(FileWriter fw, String up, String down, String left, String right) {
-		this.fw = fw;
+	public KeySteering(ExperimentLog explog, InputLatencyTracer latencyTracer, KeyAction up, KeyAction down,
+			KeyAction left, KeyAction right) {
+		this.explog = explog;
+		this.latencyTracer = latencyTracer;
 		this.up = up;
 		this.down = down;
 		this.left = left;
@@ -64,14 +64,7 @@ public class KeySteering implements Steering {
 
 	public void explog(String line)
 	{
-		try
-		{
-			fw.write(System.currentTimeMillis() + "," + line+ "\n");
-		}
-		catch (IOException e)
-		{
-			throw new RuntimeException(e);
-		}
+		explog.log(line);
 	}
 
 	private boolean skip(String dir)
@@ -83,31 +76,36 @@ public class KeySteering implements Steering {
 		}
 		return skipKey;
 	}
+	private void setWishDir(Creature pac, Direction dir) {
+		pac.setWishDir(dir);
+		latencyTracer.inputSteered(Keyboard.lastTriggerId(), Keyboard.lastTriggerNanos(), pac, dir);
+	}
+
 	@Override
 	public void steer(GameLevel level, Creature pac) {
-		if (Keyboard.keyPressed(up))
+		if (Keyboard.triggered(up))
 		{
 			if (!skip("up"))
 			{
-				pac.setWishDir(Direction.UP);
+				setWishDir(pac, Direction.UP);
 				explog("command,up");
 			}
-		} else if (Keyboard.keyPressed(down)) {
+		} else if (Keyboard.triggered(down)) {
 			if (!skip("down"))
 			{
-				pac.setWishDir(Direction.DOWN);
+				setWishDir(pac, Direction.DOWN);
 				explog("command,down");
 			}
-		} else if (Keyboard.keyPressed(left)) {
+		} else if (Keyboard.triggered(left)) {
 			if (!skip("left"))
 			{
-				pac.setWishDir(Direction.LEFT);
+				setWishDir(pac, Direction.LEFT);
 				explog("command,left");
 			}
-		} else if (Keyboard.keyPressed(right)) {
+		} else if (Keyboard.triggered(right)) {
 			if (!skip("right"))
 			{
-				pac.setWishDir(Direction.RIGHT);
+				setWishDir(pac, Direction.RIGHT);
 				explog("command,right");
 			}
 		}
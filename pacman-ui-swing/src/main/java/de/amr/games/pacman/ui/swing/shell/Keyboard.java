@@ -25,23 +25,29 @@ package de.amr.games.pacman.ui.swing.shell;
 
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.util.BitSet;
+import java.util.Arrays;
 import java.util.Map;
 
 /**
- * Keyboard handler.
+ * Keyboard handler. The key presses are passed from the event dispatch thread to the game loop thread through a
+ * lock-free {@link KeyEventRing} and applied at the start of each tick by {@link #poll()}, so no press is lost even if
+ * the key is released before the next tick. While polling, each press is resolved to its {@link KeyAction} through the
+ * current {@link KeyBindings}, the game code only queries the actions.
+ * <p>
+ * As before the ring was introduced, an action triggers at most once per tick, however often its key has been pressed
+ * since the last tick. Auto-repeat presses of a held key trigger the action again in later ticks.
  * 
  * @author Armin Reichert
  */
 public class Keyboard {
 
-	public static final Keyboard theKeyboard = new Keyboard();
-
 	public static final byte MOD_NONE = 0x0;
 	public static final byte MOD_ALT = 0x1;
 	public static final byte MOD_CTRL = 0x2;
 	public static final byte MOD_SHIFT = 0x4;
 
+	private static final int RING_CAPACITY = 256;
+
 	private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
 	private static final String DIGITS = "0123456789";
 	//@formatter:off
@@ -59,7 +65,14 @@ public class Keyboard {
 	;
 	//@formatter:on
 
-	private static int code(String spec) {
+	/** Key codes are below this value, covers all letters, digits and specified keys (VK_PLUS is 521). */
+	static final int NUM_CODES = 1 + Math.max(Math.max(KeyEvent.VK_Z, KeyEvent.VK_9),
+			SPECS.values().stream().mapToInt(Integer::intValue).max().getAsInt());
+
+	// created after the tables above as the constructor uses them
+	public static final Keyboard theKeyboard = new Keyboard();
+
+	static int code(String spec) {
 		if (spec.length() == 1) {
 			int symbol = spec.charAt(0);
 			int index = LETTERS.indexOf(symbol);
@@ -78,61 +91,119 @@ public class Keyboard {
 	}
 
 	/**
-	 * @param keySpec key specifier
-	 * @return {@code true} if the specified key is pressed without any modifier key (ALT, CONTROL, SHIFT)
+	 * Takes the key events received since the last call from the event queue. Must be called by the game loop thread at
+	 * the start of each tick. Actions not consumed by {@link #triggered(KeyAction)} during the tick are discarded.
 	 */
-	public static boolean keyPressed(String spec) {
-		return keyPressed(MOD_NONE, spec);
+	public static void poll() {
+		theKeyboard.pollEvents();
 	}
 
 	/**
-	 * @param keySpec key specifier like "A", "5", "Up", "Esc", "Space".
-	 * @return {@code true} if the specified key is pressed with the specified modifiers (MOD_ALT | MOD_CONTROL |
-	 *         MOD_SHIFT)
+	 * Replaces the key bindings. Takes effect at the next poll.
+	 * 
+	 * @param bindings key bindings
 	 */
-	public static boolean keyPressed(int modifiers, String spec) {
-		boolean pressed = theKeyboard.pressedState.get(code(spec));
-		if (pressed) {
-			theKeyboard.pressedState.clear(code(spec)); // TODO hack
-		}
-		return theKeyboard.modifierMask == modifiers && pressed;
+	public static void setBindings(KeyBindings bindings) {
+		theKeyboard.bindings = bindings;
+	}
+
+	/**
+	 * @param action key action
+	 * @return {@code true} if a key bound to this action has been pressed since the last poll. Reported once per poll.
+	 */
+	public static boolean triggered(KeyAction action) {
+		return theKeyboard.consumeAction(action.ordinal());
+	}
+
+	/**
+	 * @return ID of the press reported by the last successful {@link #triggered(KeyAction)} call. Press IDs are
+	 *         assigned in the order of arrival, starting with 1.
+	 */
+	public static long lastTriggerId() {
+		return theKeyboard.lastTriggerId;
+	}
+
+	/**
+	 * @return time ({@link System#nanoTime()}) when the press reported by the last successful
+	 *         {@link #triggered(KeyAction)} call has been received
+	 */
+	public static long lastTriggerNanos() {
+		return theKeyboard.lastTriggerNanos;
 	}
 
 	public final KeyAdapter handler;
-	private final BitSet pressedState = new BitSet(256);
-	private byte modifierMask;
+	private final KeyEventRing ring = new KeyEventRing(RING_CAPACITY);
+	private final KeyEventRing.Handler ringHandler = this::onKeyPressed;
+
+	private volatile KeyBindings bindings = KeyBindings.defaults();
+
+	// state owned by the game loop thread, updated from the drained events
+	private KeyBindings pollBindings;
+	private final boolean[] actionPressed = new boolean[KeyAction.values().length]; // not yet consumed
+	private final long[] actionPressId = new long[KeyAction.values().length];
+	private final long[] actionPressNanos = new long[KeyAction.values().length];
+	private long nextPressId = 1;
+	private long lastTriggerId;
+	private long lastTriggerNanos;
 
 	public Keyboard() {
 		handler = new KeyAdapter() {
 
 			@Override
 			public void keyPressed(KeyEvent e) {
-				updateModifierMask(e);
-				int code = e.getKeyCode();
-				if (0 < code && code <= 255) {
-					pressedState.set(code);
-				}
-			}
-
-			@Override
-			public void keyReleased(KeyEvent e) {
-				updateModifierMask(e);
-				int code = e.getKeyCode();
-				pressedState.clear(code);
+				ring.offer(e.getKeyCode(), modifierMask(e), System.nanoTime());
 			}
 		};
 	}
 
-	private void updateModifierMask(KeyEvent e) {
-		modifierMask = MOD_NONE;
+	/**
+	 * @return number of key events dropped because the game loop did not poll them in time
+	 */
+	public long droppedEvents() {
+		return ring.droppedCount();
+	}
+
+	private void pollEvents() {
+		Arrays.fill(actionPressed, false);
+		pollBindings = bindings;
+		ring.drain(ringHandler);
+	}
+
+	private void onKeyPressed(int code, byte modifiers, long nanos) {
+		if (code <= 0 || code >= NUM_CODES) {
+			return; // cannot be bound to an action
+		}
+		var action = pollBindings.action(modifiers, code);
+		// repeated presses in the same tick trigger the action once, traced from the first press
+		if (action != null && !actionPressed[action.ordinal()]) {
+			actionPressed[action.ordinal()] = true;
+			actionPressId[action.ordinal()] = nextPressId;
+			actionPressNanos[action.ordinal()] = nanos;
+		}
+		++nextPressId;
+	}
+
+	private boolean consumeAction(int ordinal) {
+		if (actionPressed[ordinal]) {
+			actionPressed[ordinal] = false;
+			lastTriggerId = actionPressId[ordinal];
+			lastTriggerNanos = actionPressNanos[ordinal];
+			return true;
+		}
+		return false;
+	}
+
+	private static byte modifierMask(KeyEvent e) {
+		byte mask = MOD_NONE;
 		if (e.isAltDown()) {
-			modifierMask |= MOD_ALT;
+			mask |= MOD_ALT;
 		}
 		if (e.isControlDown()) {
-			modifierMask |= MOD_CTRL;
+			mask |= MOD_CTRL;
 		}
 		if (e.isShiftDown()) {
-			modifierMask |= MOD_SHIFT;
+			mask |= MOD_SHIFT;
 		}
+		return mask;
 	}
 }
\ No newline at end of file
@@ -26,28 +26,23 @@ package de.amr.games.pacman.ui.swing.shell;
 import static de.amr.games.pacman.controller.common.GameState.CREDIT;
 import static de.amr.games.pacman.controller.common.GameState.INTRO;
 import static de.amr.games.pacman.model.common.GameVariant.MS_PACMAN;
-import static de.amr.games.pacman.ui.swing.shell.Keyboard.MOD_CTRL;
-import static de.amr.games.pacman.ui.swing.shell.Keyboard.MOD_SHIFT;
 
 import java.awt.AWTException;
 import java.awt.Canvas;
 import java.awt.Color;
-import java.awt.EventQueue;
+import java.awt.Dimension;
 import java.awt.Graphics2D;
-import java.awt.RenderingHints;
 import java.awt.Robot;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
-import java.awt.image.BufferStrategy;
-import java.io.FileWriter;
-import java.io.IOException;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.swing.JFrame;
 import javax.swing.Timer;
 import javax.swing.WindowConstants;
 
-import de.amr.games.pacman.event.GameEventType;
 import de.amr.games.pacman.event.GhostEvent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -59,14 +54,20 @@ import de.amr.games.pacman.event.GameEventListener;
 import de.amr.games.pacman.event.GameStateChangeEvent;
 import de.amr.games.pacman.event.SoundEvent;
 import de.amr.games.pacman.lib.math.Vector2i;
+import de.amr.games.pacman.model.common.GameVariant;
 import de.amr.games.pacman.model.common.world.ArcadeWorld;
+import de.amr.games.pacman.ui.swing.app.AllocationBudget;
 import de.amr.games.pacman.ui.swing.app.GameLoop;
+import de.amr.games.pacman.ui.swing.app.SpeedControl;
+import de.amr.games.pacman.ui.swing.app.SpeedControl.Phase;
+import de.amr.games.pacman.ui.swing.lib.ManagedImages;
+import de.amr.games.pacman.ui.swing.lib.TripleBuffer;
 import de.amr.games.pacman.ui.swing.lib.Ujfc;
+import de.amr.games.pacman.ui.swing.rendering.common.ActorSprites;
 import de.amr.games.pacman.ui.swing.rendering.common.GhostAnimations;
 import de.amr.games.pacman.ui.swing.rendering.common.PacAnimations;
+import de.amr.games.pacman.ui.swing.rendering.common.Rendering2D;
 import de.amr.games.pacman.ui.swing.rendering.common.WorldAnimations;
-import de.amr.games.pacman.ui.swing.rendering.mspacman.SpritesheetMsPacMan;
-import de.amr.games.pacman.ui.swing.rendering.pacman.SpritesheetPacMan;
 import de.amr.games.pacman.ui.swing.scenes.common.BootScene;
 import de.amr.games.pacman.ui.swing.scenes.common.GameScene;
 import de.amr.games.pacman.ui.swing.scenes.common.PlayScene;
@@ -84,6 +85,10 @@ import org.apache.logging.log4j.core.util.JsonUtils;
 
 /**
  * A Swing UI for the Pac-Man / Ms. Pac-Man game.
+ * <p>
+ * Each tick, {@link #update()} runs on the game loop thread after the game update and rasterizes the current scene into
+ * a {@link RenderSnapshot}. Its cost is charged to the tick (see {@link SpeedControl#recordTickWork}), the
+ * {@link RenderThread} only presents the snapshots.
  * 
  * @author Armin Reichert
  */
@@ -105,12 +110,26 @@ public class PacManGameUI implements GameEventListener {
 	private final GameController gameController;
 
 	private final Vector2i unscaledSize;
-	private final Vector2i scaledSize;
-	private final float scaling;
 	private final JFrame window;
 	private final Timer titleUpdateTimer;
 	private final Canvas canvas;
 	private final FlashMessageDisplay flashMessageDisplay;
+	private final PerformanceOverlay performanceOverlay;
+	private boolean performanceOverlayVisible;
+	private final TripleBuffer<RenderSnapshot> snapshots;
+	private final RenderThread renderThread;
+	private final InputLatencyTracer inputLatencyTracer;
+	private final ActorSprites.Trails actorTrails = new ActorSprites.Trails();
+	private long lastPresentedFrames;
+	private boolean latencyInTitle;
+	private AllocationBudget allocationBudget;
+	private boolean levelAnimationsPending;
+	// created for the first level, then rebound to the actors of each new level
+	private Rendering2D levelAnimationsRendering;
+	private WorldAnimations worldAnimations;
+	private PacAnimations pacAnimations;
+	private final GhostAnimations[] ghostAnimations = new GhostAnimations[4];
+	private boolean sceneInitPending;
 
 	private final double RENDER_ERROR_PERCENT = 0.02;
 
@@ -119,49 +138,41 @@ public class PacManGameUI implements GameEventListener {
 	private boolean SKIP_FRAMES = false;
 	private boolean SKIP_CONTROLS = false;
 
-	FileWriter fw = null;
-
-	private final List<GameScene> gameScenesPacMan = List.of( //
-			new BootScene(), //
-			new PacManIntroScene(), //
-			new PacManCreditScene(), //
-			new PacManCutscene1(), //
-			new PacManCutscene2(), //
-			new PacManCutscene3(), //
-			new PlayScene() //
-	);
-
-	private final List<GameScene> gameScenesMsPacMan = List.of( //
-			new BootScene(), //
-			new MsPacManIntroScene(), //
-			new MsPacManCreditScene(), //
-			new MsPacManIntermissionScene1(), //
-			new MsPacManIntermissionScene2(), //
-			new MsPacManIntermissionScene3(), //
-			new PlayScene()//
-	);
+	private final ExperimentLog explog;
+	private final GameAssets assets;
+
+	/** Scenes of the active game variant only, scenes of an idle variant are dropped together with its assets. */
+	private final Map<GameVariant, List<GameScene>> gameScenes = new EnumMap<>(GameVariant.class);
 
 	private GameScene currentGameScene;
 
-	public PacManGameUI(FileWriter fw, GameLoop gameLoop, GameController controller, float height) {
-		this.fw = fw;
+	public PacManGameUI(ExperimentLog explog, GameLoop gameLoop, GameController controller, GameAssets assets,
+			float height) {
+		this.explog = explog;
+		this.assets = assets;
 		this.gameLoop = gameLoop;
 		this.gameController = controller;
 		this.unscaledSize = ArcadeWorld.SIZE_PX;
-		this.scaling = height / unscaledSize.y();
-		this.scaledSize = new Vector2i(Math.round(scaling * unscaledSize.x()), Math.round(scaling * unscaledSize.y()));
+		float scaling = height / unscaledSize.y();
 
 		flashMessageDisplay = new FlashMessageDisplay(unscaledSize);
+		// not created on first use by the game loop thread, building its glyph atlas would stall a tick
+		performanceOverlay = new PerformanceOverlay(unscaledSize);
+		snapshots = new TripleBuffer<>(() -> new RenderSnapshot(unscaledSize));
 
 		canvas = new Canvas();
 		canvas.setBackground(Color.BLACK);
-		canvas.setSize(scaledSize.x(), scaledSize.y());
+		canvas.setPreferredSize(
+				new Dimension(Math.round(scaling * unscaledSize.x()), Math.round(scaling * unscaledSize.y())));
 		canvas.setFocusable(false);
+		canvas.setIgnoreRepaint(true);
+		inputLatencyTracer = new InputLatencyTracer(explog);
+		renderThread = new RenderThread(canvas, snapshots, gameLoop.clock.histogram(Phase.SHOW), inputLatencyTracer);
 
 		window = new JFrame();
 		window.setTitle("Swing: Pac-Man");
 		window.setBackground(Color.BLACK);
-		window.setResizable(false);
+		window.setResizable(true);
 		window.setFocusable(true);
 		window.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
 		window.setIconImage(Ujfc.image("/pacman/graphics/pacman.png"));
@@ -170,34 +181,116 @@ public class PacManGameUI implements GameEventListener {
 			@Override
 			public void windowClosing(WindowEvent e) {
 				titleUpdateTimer.stop();
-				gameLoop.end();
-				try
-				{
-					fw.flush();
-					fw.close();
-				}
-				catch (IOException ex)
-				{
-					throw new RuntimeException(ex);
+				gameLoop.stop();
+				renderThread.stop();
+				explog.close();
+				var budget = allocationBudget;
+				if (budget != null && budget.violations() > 0) {
+					LOG.error("Allocation budget of %d bytes per frame exceeded by %d frames (max %d bytes)",
+							budget.budgetBytes(), budget.violations(), budget.maxViolationBytes());
+					System.exit(1);
 				}
-
 			}
 		});
 		window.getContentPane().add(canvas);
 		window.addKeyListener(Keyboard.theKeyboard.handler);
 
-		titleUpdateTimer = new Timer(1000, e -> window.setTitle(String.format("%s (%d fps, JFC Swing)",
-				gameController.game().variant() == MS_PACMAN ? "Ms. Pac-Man" : "Pac-Man", gameLoop.clock.getLastFPS())));
+		titleUpdateTimer = new Timer(1000, e -> updateTitle());
 
 		gameController.restart(GameState.BOOT);
 	}
 
+	private void updateTitle() {
+		long presentedFrames = renderThread.getPresentedFrames();
+		var gameName = gameController.game().variant() == MS_PACMAN ? "Ms. Pac-Man" : "Pac-Man";
+		if (latencyInTitle) {
+			window.setTitle(String.format(
+					"%s (%d fps%s, p99 ms: update %.2f, ui %.2f, render %.2f, present %.2f, show %.2f, input %.2f)", gameName,
+					gameLoop.clock.getLastFPS(), gameLoop.clock.isLateLatch() ? " late latch" : "", p99Millis(Phase.UPDATE),
+					p99Millis(Phase.UI_UPDATE), p99Millis(Phase.RENDER),
+					renderThread.presentTimes().percentiles().p99() / 1e6, p99Millis(Phase.SHOW),
+					inputLatencyTracer.histogram().percentiles().p99() / 1e6) + allocationInfo());
+		} else {
+			window.setTitle(String.format("%s (%d fps, %d render fps, %d dropped, JFC Swing)", gameName,
+					gameLoop.clock.getLastFPS(), presentedFrames - lastPresentedFrames, snapshots.getDroppedCount()));
+		}
+		lastPresentedFrames = presentedFrames;
+	}
+
+	private double p99Millis(Phase phase) {
+		return gameLoop.clock.histogram(phase).percentiles().p99() / 1e6;
+	}
+
+	private String allocationInfo() {
+		var budget = allocationBudget;
+		if (budget == null || !budget.isSupported()) {
+			return "";
+		}
+		return String.format(" (ui alloc %d B/frame, %d over budget)", budget.lastFrameBytes(), budget.violations());
+	}
+
+	/**
+	 * @param visible if the performance overlay (frame time graph, dropped frames, EDT lag, GC, heap) is displayed
+	 */
+	public void setPerformanceOverlayVisible(boolean visible) {
+		performanceOverlayVisible = visible;
+	}
+
+	/**
+	 * Switches late latching of the game loop, see {@link SpeedControl#setLateLatch(boolean)}. The switch is recorded in
+	 * the experiment log. Must be called on the game loop thread or before the game loop is started.
+	 * 
+	 * @param lateLatch if input is sampled right before the tick whose result gets presented
+	 */
+	public void setLateLatch(boolean lateLatch) {
+		gameLoop.clock.setLateLatch(lateLatch);
+		explog("latelatch," + (lateLatch ? "on" : "off"));
+	}
+
+	/**
+	 * @return tracer of the latency from steering key presses to their presentation on screen
+	 */
+	public InputLatencyTracer inputLatencyTracer() {
+		return inputLatencyTracer;
+	}
+
+	/**
+	 * @param allocationBudget checks the bytes allocated by each UI update (scene update and rendering), {@code null}
+	 *                         disables the check
+	 */
+	public void setAllocationBudget(AllocationBudget allocationBudget) {
+		this.allocationBudget = allocationBudget;
+	}
+
+	/**
+	 * @param hertz render frequency, see {@link RenderThread#setTargetFrequency(double)}
+	 */
+	public void setRenderFrequency(double hertz) {
+		renderThread.setTargetFrequency(hertz);
+	}
+
+	/**
+	 * @param integerScaling if the scene is scaled to the window by integer factors only, see
+	 *                       {@link RenderThread#setIntegerScaling(boolean)}
+	 */
+	public void setIntegerScaling(boolean integerScaling) {
+		renderThread.setIntegerScaling(integerScaling);
+	}
+
+	/**
+	 * @param action action executed on the render thread after the first frame has been presented
+	 */
+	public void setFirstFrameAction(Runnable action) {
+		renderThread.setFirstFrameAction(action);
+	}
+
 	public void show() {
 		updateGameScene(gameController.state(), true);
 		window.pack();
 		window.setLocationRelativeTo(null);
 		window.setVisible(true);
 		moveMousePointerOutOfSight();
+		renderThread.start();
 		titleUpdateTimer.start();
 	}
 
@@ -206,14 +299,7 @@ public class PacManGameUI implements GameEventListener {
 	// "LEVEL_STARTING"
 	@Override
 	public void onGameEvent(GameEvent event) {
-		//if ((! (event instanceof  SoundEvent)) && (! (event instanceof GhostEvent)))
-		if (event.type.equals(GameEventType.GAME_STATE_CHANGED))
-		{
-			String transition = event.toString();
-			String nextState = transition.substring(transition.indexOf("->")+2);
-			String line = nextState.substring(0,nextState.indexOf(")"));
-			explog("event," + line);
-		}
+		explog.logGameEvent(event);
 		GameEventListener.super.onGameEvent(event);
 		currentGameScene.onGameEvent(event);
 	}
@@ -232,15 +318,37 @@ public class PacManGameUI implements GameEventListener {
 	// this is dubious but we need some point in time where the animations are created
 	@Override
 	public void onLevelStarting(GameEvent e) {
+		gameController.game().level().ifPresent(level -> explog.logLevelStarting(level.number()));
+		// runs on the game loop thread, so never wait here for the sprite sheet (variant switched while loading)
+		if (assets.isLoaded()) {
+			setLevelAnimations();
+		} else {
+			LOG.info("Sprite sheet not yet loaded, level animations are created when it is available");
+			levelAnimationsPending = true;
+		}
+	}
+
+	/**
+	 * Sets the animations of the maze and the actors of the starting level. The animations are only created for the
+	 * first level (and when the game variant has changed), later levels get the same animations rebound to their actors.
+	 */
+	private void setLevelAnimations() {
+		levelAnimationsPending = false;
 		gameController.game().level().ifPresent(level -> {
-			var r2D = switch (gameController.game().variant()) {
-			case MS_PACMAN -> SpritesheetMsPacMan.get();
-			case PACMAN -> SpritesheetPacMan.get();
-			};
-			level.world().setAnimations(new WorldAnimations(r2D, level.number()));
-			level.pac().setAnimations(new PacAnimations(level.pac(), r2D));
-			level.ghosts().forEach(ghost -> ghost.setAnimations(new GhostAnimations(ghost, r2D)));
-			explog("event,level " + level.number());
+			var r2D = assets.sprites(gameController.game().variant());
+			if (r2D != levelAnimationsRendering) {
+				levelAnimationsRendering = r2D;
+				worldAnimations = new WorldAnimations(r2D, level.number());
+				pacAnimations = new PacAnimations(level.pac(), r2D);
+				level.ghosts().forEach(ghost -> ghostAnimations[ghost.id()] = new GhostAnimations(ghost, r2D));
+			} else {
+				worldAnimations.setLevelNumber(level.number());
+				pacAnimations.bind(level.pac());
+				level.ghosts().forEach(ghost -> ghostAnimations[ghost.id()].bind(ghost));
+			}
+			level.world().setAnimations(worldAnimations);
+			level.pac().setAnimations(pacAnimations);
+			level.ghosts().forEach(ghost -> ghost.setAnimations(ghostAnimations[ghost.id()]));
 		});
 	}
 
@@ -259,15 +367,67 @@ public class PacManGameUI implements GameEventListener {
 				currentGameScene.end();
 			}
 			newGameScene.setContext(gameController);
-			newGameScene.init();
 			//LOG.info("Current scene changed from %s to %s", currentGameScene, newGameScene);
+			currentGameScene = newGameScene;
+			initCurrentGameScene();
 		}
 		currentGameScene = newGameScene;
 	}
 
+	/**
+	 * Initializes the current scene. Runs on the game loop thread, so if the scene needs the sprite sheet and it is not
+	 * yet loaded (variant switched while loading), the scene is neither initialized nor updated or rendered until the
+	 * sheet is available.
+	 */
+	private void initCurrentGameScene() {
+		var r2D = assets.spritesIfLoaded(gameController.game().variant());
+		if (r2D == null && currentGameScene.needsRendering()) {
+			if (!sceneInitPending) {
+				LOG.info("Sprite sheet not yet loaded, scene is initialized when it is available");
+				sceneInitPending = true;
+			}
+			return;
+		}
+		sceneInitPending = false;
+		currentGameScene.setRendering(r2D);
+		currentGameScene.init();
+	}
+
+	private List<GameScene> createScenes(GameVariant variant) {
+		return switch (variant) {
+		case MS_PACMAN -> List.of( //
+				new BootScene(assets), //
+				new MsPacManIntroScene(), //
+				new MsPacManCreditScene(), //
+				new MsPacManIntermissionScene1(), //
+				new MsPacManIntermissionScene2(), //
+				new MsPacManIntermissionScene3(), //
+				new PlayScene()//
+		);
+		case PACMAN -> List.of( //
+				new BootScene(assets), //
+				new PacManIntroScene(), //
+				new PacManCreditScene(), //
+				new PacManCutscene1(), //
+				new PacManCutscene2(), //
+				new PacManCutscene3(), //
+				new PlayScene() //
+		);
+		};
+	}
+
+	private List<GameScene> scenesOfVariant(GameVariant variant) {
+		if (!gameScenes.containsKey(variant)) {
+			gameScenes.clear();
+			assets.activate(variant);
+			gameScenes.put(variant, createScenes(variant));
+		}
+		return gameScenes.get(variant);
+	}
+
 	private GameScene getSceneForGameState(GameState state) {
 		var game = gameController.game();
-		var scenes = game.variant() == MS_PACMAN ? gameScenesMsPacMan : gameScenesPacMan;
+		var scenes = scenesOfVariant(game.variant());
 		return switch (state) {
 		case BOOT -> scenes.get(0);
 		case INTRO -> scenes.get(1);
@@ -286,25 +446,30 @@ public class PacManGameUI implements GameEventListener {
 
 	public void explog(String line)
 	{
-		try
-		{
-			fw.write(System.currentTimeMillis() + "," + line+ "\n");
-		}
-		catch (IOException e)
-		{
-			throw new RuntimeException(e);
-		}
+		explog.log(line);
 	}
 
 	public void update() {
+		long updateStart = System.nanoTime();
+		var budget = allocationBudget;
+		if (budget != null) {
+			budget.begin();
+		}
+		inputLatencyTracer.tickCompleted(gameLoop.clock.getTotalFrames());
+		if (levelAnimationsPending && assets.isLoaded()) {
+			setLevelAnimations();
+		}
+		if (sceneInitPending && assets.isLoaded()) {
+			initCurrentGameScene();
+		}
 		handleNonPlayerKeys();
-		if (currentGameScene != null) {
+		if (currentGameScene != null && !sceneInitPending) {
 			currentGameScene.update();
 		}
 		flashMessageDisplay.update();
 		if (!SKIP_FRAMES || (Math.random() > RENDER_ERROR_PERCENT && BLANK_FRAMES == 0))
 		{
-			EventQueue.invokeLater(this::renderScreen);
+			renderSnapshot();
 		}
 		else
 		{
@@ -325,39 +490,46 @@ public class PacManGameUI implements GameEventListener {
 				BLANK_FRAMES -= 1;
 			}
 		}
+		if (budget != null) {
+			budget.end();
+		}
+		long updateEnd = System.nanoTime();
+		gameLoop.clock.recordTickWork(Phase.UI_UPDATE, updateEnd - updateStart, updateEnd);
 	}
 
-	private void renderScreen() {
-		if (currentGameScene == null) {
+	/**
+	 * Renders the current scene at native resolution into the back snapshot and hands it over to the render thread. Runs
+	 * on the game loop thread, so the game model is never read concurrently to its modification.
+	 */
+	private void renderSnapshot() {
+		if (currentGameScene == null || sceneInitPending) {
 			return;
 		}
-		BufferStrategy buffers = canvas.getBufferStrategy();
-		if (buffers == null) {
-			canvas.createBufferStrategy(2);
-			return;
+		var snapshot = snapshots.back();
+		snapshot.beginFrame();
+		Graphics2D g = snapshot.graphics();
+		g.setColor(Color.BLACK);
+		g.fillRect(0, 0, unscaledSize.x(), unscaledSize.y());
+		long renderStart = System.nanoTime();
+		currentGameScene.render(g);
+		long renderEnd = System.nanoTime();
+		gameLoop.clock.histogram(Phase.RENDER).record(renderEnd - renderStart, renderEnd);
+		// drawn over the actor sprites by the render thread
+		if (flashMessageDisplay.isActive()) {
+			flashMessageDisplay.render(snapshot.overlayGraphics(flashMessageDisplay.area()));
+		}
+		if (performanceOverlayVisible) {
+			performanceOverlay.render(snapshot.overlayGraphics(performanceOverlay.area()), gameLoop.clock.getLastWorkNanos(),
+					renderEnd - renderStart, gameLoop.clock.getFrameDurationNanos(), snapshots.getDroppedCount());
 		}
-		do {
-			do {
-				Graphics2D g = (Graphics2D) buffers.getDrawGraphics();
-				g.setColor(Color.BLACK);
-				g.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
-				g.scale(scaling, scaling);
-				Graphics2D smooth = createSmoothGraphics(g);
-				currentGameScene.render(smooth);
-				smooth.dispose();
-				flashMessageDisplay.render(g);
-				g.dispose();
-			} while (buffers.contentsRestored());
-			buffers.show();
-		} while (buffers.contentsLost());
-	}
-
-	private Graphics2D createSmoothGraphics(Graphics2D g) {
-		Graphics2D smooth = (Graphics2D) g.create();
-		smooth.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-		smooth.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-		smooth.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-		return smooth;
+		long tick = gameLoop.clock.getTotalFrames();
+		var sprites = snapshot.sprites();
+		sprites.clear();
+		currentGameScene.collectSprites(sprites);
+		actorTrails.link(sprites, tick);
+		currentGameScene.collectHud(snapshot);
+		snapshot.setTiming(tick, System.nanoTime(), gameLoop.clock.getFrameDurationNanos());
+		snapshots.publish();
 	}
 
 	public void showFlashMessage(double seconds, String message, Object... args) {
@@ -367,75 +539,86 @@ public class PacManGameUI implements GameEventListener {
 	private void handleNonPlayerKeys() {
 		var game = gameController.game();
 
-		if (Keyboard.keyPressed("A")) {
+		if (Keyboard.triggered(KeyAction.TOGGLE_AUTOPILOT)) {
 			gameController.toggleAutoControlled();
 			showFlashMessage(1, "Autopilot %s", gameController.isAutoControlled() ? "on" : "off");
 		}
 
-		else if (Keyboard.keyPressed(MOD_CTRL, "D")) {
+		else if (Keyboard.triggered(KeyAction.TOGGLE_DEBUG_DRAW)) {
 			toggleDebugDraw();
 			LOG.info("UI debug mode is %s", debugDraw ? "on" : "off");
 		}
 
-		else if (Keyboard.keyPressed("E")) {
+		else if (Keyboard.triggered(KeyAction.EAT_ALL_PELLETS)) {
 			gameController.cheatEatAllPellets();
 		}
 
-		else if (Keyboard.keyPressed("I")) {
+		else if (Keyboard.triggered(KeyAction.TOGGLE_IMMUNITY)) {
 			game.setImmune(!game.isImmune());
 			showFlashMessage(1, "Player is %s", game.isImmune() ? "immune" : "vulnerable");
 		}
 
-		else if (Keyboard.keyPressed("L")) {
+		else if (Keyboard.triggered(KeyAction.ADD_LIVES)) {
 			if (game.isPlaying()) {
 				game.setLives(game.lives() + 3);
 			}
 		}
 
-		else if (Keyboard.keyPressed("N")) {
+		else if (Keyboard.triggered(KeyAction.LOG_IMAGE_DIAGNOSTICS)) {
+			LOG.info("Image diagnostics:%n%s", ManagedImages.report());
+			showFlashMessage(1, "Image diagnostics logged");
+		}
+
+		else if (Keyboard.triggered(KeyAction.NEXT_LEVEL)) {
 			if (game.isPlaying()) {
 				gameController.changeState(GameState.LEVEL_COMPLETE);
 			}
 		}
 
-		else if (Keyboard.keyPressed("Q")) {
+		else if (Keyboard.triggered(KeyAction.TOGGLE_PERF_OVERLAY)) {
+			setPerformanceOverlayVisible(!performanceOverlayVisible);
+		}
+
+		else if (Keyboard.triggered(KeyAction.RESTART_INTRO)) {
 			restartIntro();
 		}
 
-		else if (Keyboard.keyPressed(MOD_CTRL, "S")) {
-			int fps = gameLoop.clock.getTargetFPS() + 10;
-			gameLoop.clock.setTargetFPS(fps);
-			showFlashMessage(2, "Target FPS set to %s Hz", fps);
-			LOG.info("Clock frequency changed to %d Hz", gameLoop.clock.getTargetFPS());
+		else if (Keyboard.triggered(KeyAction.RENDER_FASTER)) {
+			changeRenderFrequency(10);
 		}
 
-		else if (Keyboard.keyPressed(MOD_CTRL | MOD_SHIFT, "S")) {
-			int fps = gameLoop.clock.getTargetFPS() - 10;
-			fps = Math.max(10, fps);
-			gameLoop.clock.setTargetFPS(fps);
-			showFlashMessage(2, "Target FPS set to %s Hz", fps);
-			LOG.info("Clock frequency changed to %d Hz", gameLoop.clock.getTargetFPS());
+		else if (Keyboard.triggered(KeyAction.RENDER_SLOWER)) {
+			changeRenderFrequency(-10);
 		}
 
-		else if (Keyboard.keyPressed("V")) {
+		else if (Keyboard.triggered(KeyAction.TOGGLE_LATE_LATCH)) {
+			setLateLatch(!gameLoop.clock.isLateLatch());
+			showFlashMessage(1, "Late latch %s", gameLoop.clock.isLateLatch() ? "on" : "off");
+		}
+
+		else if (Keyboard.triggered(KeyAction.TOGGLE_LATENCY_TITLE)) {
+			latencyInTitle = !latencyInTitle;
+		}
+
+		else if (Keyboard.triggered(KeyAction.NEXT_VARIANT)) {
 			gameController.selectGameVariant(game.variant().next());
 		}
 
-		else if (Keyboard.keyPressed("X")) {
+		else if (Keyboard.triggered(KeyAction.KILL_GHOSTS)) {
 			gameController.cheatKillAllEatableGhosts();
 		}
 
-		else if (Keyboard.keyPressed("Z")) {
+		else if (Keyboard.triggered(KeyAction.CUTSCENES_TEST)) {
 			gameController.startCutscenesTest();
 		}
 
-		else if (Keyboard.keyPressed( ",")) {
+		else if (Keyboard.triggered(KeyAction.TOGGLE_SKIP_CONTROLS)) {
 			SKIP_CONTROLS = ! SKIP_CONTROLS;
 			//showFlashMessage(2, "SKIP CONTROLS: %s", SKIP_CONTROLS);
 			((KeySteering)gameController.steering()).setSkipControls(SKIP_CONTROLS);
 		}
 
-		else if (Keyboard.keyPressed(".")) {
+		else if (Keyboard.triggered(KeyAction.TOGGLE_SKIP_FRAMES)) {
 			SKIP_FRAMES = ! SKIP_FRAMES;
 			//showFlashMessage(2, "SKIP FRAMES: %s", SKIP_FRAMES);
 		}
@@ -443,6 +626,18 @@ public class PacManGameUI implements GameEventListener {
 
 
 
+	}
+
+	// changes only the render rate, the simulation keeps its fixed tick
+	private void changeRenderFrequency(int delta) {
+		double current = renderThread.getTargetFrequency();
+		if (current == RenderThread.LOCKED || current == RenderThread.UNCAPPED) {
+			current = gameLoop.clock.getTargetFrequency();
+		}
+		int fps = Math.max(10, (int) Math.round(current) + delta);
+		renderThread.setTargetFrequency(fps);
+		showFlashMessage(2, "Render FPS set to %s Hz", fps);
+		LOG.info("Render frequency changed to %d Hz", fps);
 	}
 
 	private void restartIntro() {
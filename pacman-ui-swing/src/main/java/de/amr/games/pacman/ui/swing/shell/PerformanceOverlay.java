@@ -0,0 +1,285 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.shell;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.EventQueue;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import de.amr.games.pacman.lib.math.Vector2i;
+import de.amr.games.pacman.ui.swing.lib.GlyphAtlas;
+import de.amr.games.pacman.ui.swing.lib.ManagedImages;
+import de.amr.games.pacman.ui.swing.lib.Ujfc;
+
+/**
+ * Performance overlay showing a rolling graph of the update and render time per frame, dropped frames, event dispatch
+ * thread lag, recent GC pauses, allocation rate and heap use.
+ * <p>
+ * Frame times are recorded each frame, the other metrics are sampled twice per second. The overlay is rendered into a
+ * small image only every few frames and blitted in between, so it costs a single image copy in most frames. Its own
+ * average cost is displayed in the last line.
+ * 
+ * @author Armin Reichert
+ */
+public class PerformanceOverlay {
+
+	private static final int NUM_SAMPLES = 100;
+	private static final int GRAPH_HEIGHT = 24;
+	private static final int LINE_HEIGHT = 7;
+	private static final int NUM_LINES = 7;
+	private static final int WIDTH = NUM_SAMPLES + 24;
+	private static final int HEIGHT = GRAPH_HEIGHT + NUM_LINES * LINE_HEIGHT + 8;
+	private static final int REDRAW_INTERVAL_FRAMES = 4;
+	private static final int NUM_GC_PAUSES = 3;
+	private static final long SAMPLE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+	private static final long MB = 1024 * 1024;
+
+	private static final Color BACKGROUND = new Color(0, 0, 0, 180);
+	private static final Color UPDATE_COLOR = Color.CYAN;
+	private static final Color RENDER_COLOR = Color.YELLOW;
+	private static final Color BUDGET_COLOR = new Color(255, 0, 0, 160);
+	private static final Color TEXT_COLOR = Color.WHITE;
+
+	private final int x;
+	private final int y;
+	private final Rectangle area;
+	private final BufferedImage image;
+	private final Graphics2D ig;
+	private final GlyphAtlas glyphs;
+
+	// frame samples, game loop thread only
+	private final long[] updateNanos = new long[NUM_SAMPLES];
+	private final long[] renderNanos = new long[NUM_SAMPLES];
+	private int next;
+	private long frameBudgetNanos;
+	private long droppedFrames;
+	private long frames;
+	private long overlayNanosSum;
+	private long overlayAvgNanos;
+
+	// sampled metrics, game loop thread only
+	private long lastSampleTime;
+	private long lastHeapUsed;
+	private long lastFreedTotal;
+	private long heapUsed;
+	private long heapMax;
+	private long allocationRate;
+	private final long[] gcPausesCopy = new long[NUM_GC_PAUSES];
+	private long gcCountCopy;
+
+	// written by other threads
+	private volatile long edtLagNanos;
+	private volatile long edtProbePostedAt; // 0 = no probe pending
+	private final Runnable edtProbe = () -> {
+		edtLagNanos = System.nanoTime() - edtProbePostedAt;
+		edtProbePostedAt = 0;
+	};
+	private final long[] gcPauses = new long[NUM_GC_PAUSES]; // newest first, guarded by this
+	private long gcCount; // guarded by this
+	private long freedTotal; // guarded by this
+
+	public PerformanceOverlay(Vector2i unscaledSize) {
+		x = unscaledSize.x() - WIDTH - 2;
+		y = 26;
+		area = new Rectangle(x, y, WIDTH, HEIGHT);
+		image = ManagedImages.createImage(WIDTH, HEIGHT, Transparency.TRANSLUCENT);
+		ig = image.createGraphics();
+		glyphs = new GlyphAtlas(Ujfc.font("/common/emulogic.ttf", 6));
+		glyphs.tint(UPDATE_COLOR, RENDER_COLOR, TEXT_COLOR);
+		for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			if (gcBean instanceof NotificationEmitter emitter) {
+				emitter.addNotificationListener((notification, handback) -> onGcNotification(notification), null, null);
+			}
+		}
+	}
+
+	private void onGcNotification(Notification notification) {
+		if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+			return;
+		}
+		var info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData()).getGcInfo();
+		long freed = used(info.getMemoryUsageBeforeGc()) - used(info.getMemoryUsageAfterGc());
+		synchronized (this) {
+			System.arraycopy(gcPauses, 0, gcPauses, 1, NUM_GC_PAUSES - 1);
+			gcPauses[0] = info.getDuration();
+			++gcCount;
+			freedTotal += Math.max(0, freed);
+		}
+	}
+
+	private static long used(Map<String, MemoryUsage> usageByPool) {
+		long sum = 0;
+		for (var usage : usageByPool.values()) {
+			sum += usage.getUsed();
+		}
+		return sum;
+	}
+
+	/**
+	 * @return area covered by the overlay, must not be modified
+	 */
+	public Rectangle area() {
+		return area;
+	}
+
+	/**
+	 * Records the times of the current frame and draws the overlay.
+	 * 
+	 * @param g                graphics of the snapshot overlay
+	 * @param updateNanos      duration of the game update
+	 * @param renderNanos      duration of the scene rendering
+	 * @param frameBudgetNanos target frame duration
+	 * @param droppedFrames    number of snapshots dropped so far
+	 */
+	public void render(Graphics2D g, long updateNanos, long renderNanos, long frameBudgetNanos, long droppedFrames) {
+		long start = System.nanoTime();
+		this.updateNanos[next] = updateNanos;
+		this.renderNanos[next] = renderNanos;
+		next = (next + 1) % NUM_SAMPLES;
+		this.frameBudgetNanos = frameBudgetNanos;
+		this.droppedFrames = droppedFrames;
+		if (start - lastSampleTime >= SAMPLE_INTERVAL_NANOS) {
+			sample(start);
+		}
+		if (frames % REDRAW_INTERVAL_FRAMES == 0) {
+			redraw();
+		}
+		g.drawImage(image, x, y, null);
+		++frames;
+		overlayNanosSum += System.nanoTime() - start;
+		if (frames % NUM_SAMPLES == 0) {
+			overlayAvgNanos = overlayNanosSum / NUM_SAMPLES;
+			overlayNanosSum = 0;
+		}
+	}
+
+	private void sample(long now) {
+		var runtime = Runtime.getRuntime();
+		heapUsed = runtime.totalMemory() - runtime.freeMemory();
+		heapMax = runtime.maxMemory();
+		long freed;
+		synchronized (this) {
+			System.arraycopy(gcPauses, 0, gcPausesCopy, 0, NUM_GC_PAUSES);
+			gcCountCopy = gcCount;
+			freed = freedTotal;
+		}
+		if (lastSampleTime != 0) {
+			long allocated = heapUsed - lastHeapUsed + freed - lastFreedTotal;
+			allocationRate = Math.max(0, allocated) * TimeUnit.SECONDS.toNanos(1) / (now - lastSampleTime);
+		}
+		lastHeapUsed = heapUsed;
+		lastFreedTotal = freed;
+		lastSampleTime = now;
+		if (edtProbePostedAt == 0) {
+			edtProbePostedAt = now;
+			EventQueue.invokeLater(edtProbe);
+		} else {
+			// previous probe still waiting, the lag is at least this long
+			edtLagNanos = Math.max(edtLagNanos, now - edtProbePostedAt);
+		}
+	}
+
+	private void redraw() {
+		ig.setComposite(AlphaComposite.Src);
+		ig.setColor(BACKGROUND);
+		ig.fillRect(0, 0, WIDTH, HEIGHT);
+		ig.setComposite(AlphaComposite.SrcOver);
+
+		// graph: update time at the bottom, render time stacked on top, full height = 2 frame budgets
+		long scale = Math.max(1, 2 * frameBudgetNanos / GRAPH_HEIGHT);
+		int bottom = 4 + GRAPH_HEIGHT;
+		long updateSum = 0;
+		long renderSum = 0;
+		for (int i = 0; i < NUM_SAMPLES; ++i) {
+			int sample = (next + i) % NUM_SAMPLES;
+			updateSum += updateNanos[sample];
+			renderSum += renderNanos[sample];
+			int hu = (int) Math.min(GRAPH_HEIGHT, updateNanos[sample] / scale);
+			int hr = (int) Math.min(GRAPH_HEIGHT - hu, renderNanos[sample] / scale);
+			ig.setColor(UPDATE_COLOR);
+			ig.fillRect(4 + i, bottom - hu, 1, hu);
+			ig.setColor(RENDER_COLOR);
+			ig.fillRect(4 + i, bottom - hu - hr, 1, hr);
+		}
+		ig.setColor(BUDGET_COLOR);
+		ig.fillRect(4, bottom - GRAPH_HEIGHT / 2, NUM_SAMPLES, 1);
+
+		int ty = bottom + LINE_HEIGHT + 2;
+		int tx = glyphs.drawText(ig, "UPD ", UPDATE_COLOR, 4, ty);
+		tx = glyphs.drawNumber(ig, updateSum / NUM_SAMPLES / 1000, 0, UPDATE_COLOR, tx, ty);
+		tx = glyphs.drawText(ig, " REN ", RENDER_COLOR, tx, ty);
+		tx = glyphs.drawNumber(ig, renderSum / NUM_SAMPLES / 1000, 0, RENDER_COLOR, tx, ty);
+		glyphs.drawText(ig, "US", TEXT_COLOR, tx, ty);
+
+		ty += LINE_HEIGHT;
+		tx = glyphs.drawText(ig, "DROPPED ", TEXT_COLOR, 4, ty);
+		glyphs.drawNumber(ig, droppedFrames, 0, TEXT_COLOR, tx, ty);
+
+		ty += LINE_HEIGHT;
+		tx = glyphs.drawText(ig, "EDT LAG ", TEXT_COLOR, 4, ty);
+		tx = glyphs.drawNumber(ig, edtLagNanos / 1000, 0, TEXT_COLOR, tx, ty);
+		glyphs.drawText(ig, "US", TEXT_COLOR, tx, ty);
+
+		ty += LINE_HEIGHT;
+		tx = glyphs.drawText(ig, "GC ", TEXT_COLOR, 4, ty);
+		tx = glyphs.drawNumber(ig, gcCountCopy, 0, TEXT_COLOR, tx, ty);
+		for (int i = 0; i < NUM_GC_PAUSES; ++i) {
+			tx = glyphs.drawChar(ig, ' ', TEXT_COLOR, tx, ty);
+			tx = glyphs.drawNumber(ig, gcPausesCopy[i], 0, TEXT_COLOR, tx, ty);
+		}
+		glyphs.drawText(ig, "MS", TEXT_COLOR, tx, ty);
+
+		ty += LINE_HEIGHT;
+		tx = glyphs.drawText(ig, "ALLOC ", TEXT_COLOR, 4, ty);
+		tx = glyphs.drawNumber(ig, allocationRate / MB, 0, TEXT_COLOR, tx, ty);
+		glyphs.drawText(ig, "MB/S", TEXT_COLOR, tx, ty);
+
+		ty += LINE_HEIGHT;
+		tx = glyphs.drawText(ig, "HEAP ", TEXT_COLOR, 4, ty);
+		tx = glyphs.drawNumber(ig, heapUsed / MB, 0, TEXT_COLOR, tx, ty);
+		tx = glyphs.drawChar(ig, '/', TEXT_COLOR, tx, ty);
+		tx = glyphs.drawNumber(ig, heapMax / MB, 0, TEXT_COLOR, tx, ty);
+		glyphs.drawText(ig, "MB", TEXT_COLOR, tx, ty);
+
+		ty += LINE_HEIGHT;
+		tx = glyphs.drawText(ig, "OVERLAY ", TEXT_COLOR, 4, ty);
+		tx = glyphs.drawNumber(ig, overlayAvgNanos / 1000, 0, TEXT_COLOR, tx, ty);
+		glyphs.drawText(ig, "US", TEXT_COLOR, tx, ty);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,212 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.shell;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+import de.amr.games.pacman.lib.math.Vector2i;
+import de.amr.games.pacman.model.common.GameModel;
+import de.amr.games.pacman.ui.swing.lib.ManagedImages;
+import de.amr.games.pacman.ui.swing.rendering.common.ActorSprites;
+import de.amr.games.pacman.ui.swing.rendering.common.HudValues;
+import de.amr.games.pacman.ui.swing.rendering.common.Rendering2D;
+
+/**
+ * Snapshot of the game scene at the end of a simulation tick. Consists of an image containing everything below the
+ * moving actors, the actor sprites with their positions in this and the previous tick, the values shown by the
+ * head-up display of the play scene, and an optional translucent overlay drawn on top of the actors (flash messages,
+ * performance overlay). Only the area of the overlay drawn in the tick is blended by the render thread.
+ * <p>
+ * Produced on the game loop thread, the only thread that reads the game model, and handed over to the render thread
+ * through a {@link de.amr.games.pacman.ui.swing.lib.TripleBuffer}. Once published, a snapshot is not modified until
+ * the render thread has released it.
+ * <p>
+ * The actors and the HUD are captured at model level: sprite frames with positions and the HUD values, drawn by the
+ * render thread. Everything else is rasterized into the image on the game loop thread in every tick. For the play
+ * scene, that is a blit of the retained maze layer plus the bonus and the state text; the other scenes draw their
+ * retained layers and texts. The scaling, the overlay blend and the presentation are done by the render thread.
+ * 
+ * @author Armin Reichert
+ */
+public class RenderSnapshot {
+
+	private static final AffineTransform IDENTITY = new AffineTransform();
+	private static final BasicStroke DEFAULT_STROKE = new BasicStroke();
+
+	private final BufferedImage image;
+	private final Graphics2D graphics;
+	private final BufferedImage overlay;
+	private final Graphics2D overlayGraphics;
+	private final Rectangle overlayArea = new Rectangle(); // drawn in this frame, empty if no overlay
+	private final ActorSprites sprites = new ActorSprites();
+	private final HudValues hud = new HudValues();
+	private Rendering2D hudRendering; // null if no HUD in this frame
+	private boolean hudHighScoreOnly;
+	private long tick;
+	private long publishedNanos;
+	private long tickDurationNanos;
+
+	public RenderSnapshot(Vector2i size) {
+		image = ManagedImages.createImage(size.x(), size.y(), Transparency.OPAQUE);
+		graphics = image.createGraphics();
+		overlay = ManagedImages.createImage(size.x(), size.y(), Transparency.TRANSLUCENT);
+		overlayGraphics = overlay.createGraphics();
+	}
+
+	public BufferedImage image() {
+		return image;
+	}
+
+	/**
+	 * The graphics context of the image is created once and reused for each frame, to avoid allocating a new one per
+	 * frame. Its transform, clip, composite and stroke are reset on each call.
+	 * 
+	 * @return graphics context of the image
+	 */
+	public Graphics2D graphics() {
+		graphics.setTransform(IDENTITY);
+		graphics.setClip(null);
+		graphics.setComposite(AlphaComposite.SrcOver);
+		graphics.setStroke(DEFAULT_STROKE);
+		return graphics;
+	}
+
+	/**
+	 * Starts a new frame without HUD and overlay. Clears the overlay area drawn when this snapshot was used before, so
+	 * the overlay is transparent except for the areas drawn in this frame.
+	 */
+	void beginFrame() {
+		hudRendering = null;
+		if (!overlayArea.isEmpty()) {
+			overlayGraphics.setTransform(IDENTITY);
+			overlayGraphics.setClip(null);
+			overlayGraphics.setComposite(AlphaComposite.Clear);
+			overlayGraphics.fillRect(overlayArea.x, overlayArea.y, overlayArea.width, overlayArea.height);
+			overlayArea.setBounds(0, 0, 0, 0);
+		}
+	}
+
+	/**
+	 * Returns the graphics context of the overlay, reset like {@link #graphics()}. The areas requested in a frame are the
+	 * only parts of the overlay blended by the render thread, frames not calling this method have no overlay.
+	 * 
+	 * @param area area of the overlay drawn by the caller, who must not draw outside of it
+	 * @return graphics context of the overlay drawn over the actor sprites
+	 */
+	public Graphics2D overlayGraphics(Rectangle area) {
+		if (overlayArea.isEmpty()) {
+			overlayArea.setBounds(area);
+		} else {
+			overlayArea.add(area);
+		}
+		overlayGraphics.setTransform(IDENTITY);
+		overlayGraphics.setClip(null);
+		overlayGraphics.setComposite(AlphaComposite.SrcOver);
+		overlayGraphics.setStroke(DEFAULT_STROKE);
+		return overlayGraphics;
+	}
+
+	public BufferedImage overlay() {
+		return overlay;
+	}
+
+	/**
+	 * @return area of the overlay drawn in this frame, empty if there is no overlay. Must not be modified.
+	 */
+	public Rectangle overlayArea() {
+		return overlayArea;
+	}
+
+	public ActorSprites sprites() {
+		return sprites;
+	}
+
+	/**
+	 * Adds the head-up display to this frame. Only the displayed values are copied from the game model, the HUD is
+	 * drawn by the render thread.
+	 * 
+	 * @param r2D           rendering of the HUD
+	 * @param game          game model
+	 * @param highScoreOnly if only the high score is displayed
+	 */
+	public void showHud(Rendering2D r2D, GameModel game, boolean highScoreOnly) {
+		hud.update(game);
+		hudRendering = r2D;
+		hudHighScoreOnly = highScoreOnly;
+	}
+
+	/**
+	 * @return rendering of the HUD, {@code null} if this frame has no HUD
+	 */
+	public Rendering2D hudRendering() {
+		return hudRendering;
+	}
+
+	public HudValues hud() {
+		return hud;
+	}
+
+	public boolean isHudHighScoreOnly() {
+		return hudHighScoreOnly;
+	}
+
+	public long tick() {
+		return tick;
+	}
+
+	/**
+	 * @return time ({@link System#nanoTime()}) when this snapshot has been published, 0 if never published
+	 */
+	public long publishedNanos() {
+		return publishedNanos;
+	}
+
+	public long tickDurationNanos() {
+		return tickDurationNanos;
+	}
+
+	void setTiming(long tick, long publishedNanos, long tickDurationNanos) {
+		this.tick = tick;
+		this.publishedNanos = publishedNanos;
+		this.tickDurationNanos = tickDurationNanos;
+	}
+
+	/**
+	 * @param now current time ({@link System#nanoTime()})
+	 * @return interpolation factor between previous (0) and current (1) tick
+	 */
+	public float interpolation(long now) {
+		if (tickDurationNanos <= 0) {
+			return 1;
+		}
+		float alpha = (float) (now - publishedNanos) / tickDurationNanos;
+		return Math.min(1, Math.max(0, alpha));
+	}
+}
\ No newline at end of file
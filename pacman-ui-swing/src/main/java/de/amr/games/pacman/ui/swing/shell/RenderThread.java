@@ -0,0 +1,260 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.shell;
+
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.DisplayMode;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.TimeUnit;
+
+import de.amr.games.pacman.ui.swing.app.LatencyHistogram;
+import de.amr.games.pacman.ui.swing.app.SpeedControl;
+import de.amr.games.pacman.ui.swing.app.SpeedControl.Phase;
+import de.amr.games.pacman.ui.swing.lib.TripleBuffer;
+import de.amr.games.pacman.ui.swing.rendering.common.HudLayer;
+
+/**
+ * Active rendering thread. Owns the buffer strategy of the canvas and presents the newest render snapshot. Nothing is
+ * painted on the event dispatch thread.
+ * <p>
+ * The render rate is independent of the simulation rate. If it is {@link #LOCKED}, a frame is presented exactly once
+ * per published snapshot. Otherwise, frames are presented at the given rate (or as fast as possible if
+ * {@link #UNCAPPED}) and the actor sprites are drawn at positions interpolated between the last two simulation ticks.
+ * <p>
+ * Snapshots are rendered at native resolution and presented with a single nearest-neighbour scaled blit, centered in
+ * the canvas with black letterbox bars. The HUD of a snapshot is drawn from its values into retained strips owned by
+ * this thread. The scaling follows the canvas size, either as the largest factor that fits or,
+ * with {@link #setIntegerScaling(boolean) integer scaling}, as the largest integer factor that fits.
+ * 
+ * @author Armin Reichert
+ */
+public class RenderThread {
+
+	/** Render frequency: present each simulation tick once. */
+	public static final double LOCKED = 0;
+
+	/** Render frequency: present as fast as possible. */
+	public static final double UNCAPPED = Double.POSITIVE_INFINITY;
+
+	private static final long WAIT_TIMEOUT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+	/**
+	 * @return refresh rate of the default screen or {@link #LOCKED} if unknown
+	 */
+	public static double displayRefreshRate() {
+		if (GraphicsEnvironment.isHeadless()) {
+			return LOCKED;
+		}
+		int rate = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDisplayMode()
+				.getRefreshRate();
+		return rate == DisplayMode.REFRESH_RATE_UNKNOWN ? LOCKED : rate;
+	}
+
+	private final Canvas canvas;
+	private final TripleBuffer<RenderSnapshot> snapshots;
+	private final LatencyHistogram showTimes;
+	private final InputLatencyTracer inputLatencyTracer;
+	private final HudLayer hudLayer = new HudLayer();
+	/** Paces the render thread, independent of the game loop clock. Records the presentations, not game updates. */
+	private final SpeedControl clock = new SpeedControl(Phase.PRESENT);
+	private volatile double targetFrequency = LOCKED;
+	private volatile boolean integerScaling;
+	private volatile boolean running;
+	private volatile long presentedFrames;
+	private volatile Runnable firstFrameAction;
+	private Thread thread;
+
+	/**
+	 * @param canvas             canvas to render into
+	 * @param snapshots          triple buffer from which snapshots are taken
+	 * @param showTimes          histogram receiving the durations of buffer strategy show calls
+	 * @param inputLatencyTracer tracer notified of each shown snapshot
+	 */
+	public RenderThread(Canvas canvas, TripleBuffer<RenderSnapshot> snapshots, LatencyHistogram showTimes,
+			InputLatencyTracer inputLatencyTracer) {
+		this.canvas = canvas;
+		this.snapshots = snapshots;
+		this.showTimes = showTimes;
+		this.inputLatencyTracer = inputLatencyTracer;
+	}
+
+	public synchronized void start() {
+		if (running) {
+			return;
+		}
+		running = true;
+		thread = new Thread(this::run, "Render");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	public synchronized void stop() {
+		if (!running) {
+			return;
+		}
+		running = false;
+		thread.interrupt();
+		try {
+			thread.join();
+		} catch (InterruptedException x) {
+			x.printStackTrace();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public double getTargetFrequency() {
+		return targetFrequency;
+	}
+
+	/**
+	 * @param hertz render frequency, {@link #LOCKED} or {@link #UNCAPPED}. Does not change the simulation speed.
+	 */
+	public void setTargetFrequency(double hertz) {
+		if (hertz < 0 || Double.isNaN(hertz)) {
+			throw new IllegalArgumentException("Illegal render frequency: %f".formatted(hertz));
+		}
+		targetFrequency = hertz;
+	}
+
+	public boolean isIntegerScaling() {
+		return integerScaling;
+	}
+
+	/**
+	 * @param integerScaling if the snapshot is scaled by integer factors only (pixel-exact). If the canvas is smaller
+	 *                       than the snapshot, it is scaled down to fit anyway.
+	 */
+	public void setIntegerScaling(boolean integerScaling) {
+		this.integerScaling = integerScaling;
+	}
+
+	/**
+	 * @param action action executed on the render thread after the first frame has been presented
+	 */
+	public void setFirstFrameAction(Runnable action) {
+		firstFrameAction = action;
+	}
+
+	public long getPresentedFrames() {
+		return presentedFrames;
+	}
+
+	/**
+	 * @return histogram of the durations of the frame presentations, recorded by the render thread
+	 */
+	public LatencyHistogram presentTimes() {
+		return clock.histogram(Phase.PRESENT);
+	}
+
+	private void run() {
+		while (running) {
+			double frequency = targetFrequency;
+			if (frequency == LOCKED) {
+				var snapshot = snapshots.awaitFresh(WAIT_TIMEOUT_NANOS);
+				if (snapshot != null) {
+					long presentStart = System.nanoTime();
+					present(snapshot, 1);
+					long presentEnd = System.nanoTime();
+					presentTimes().record(presentEnd - presentStart, presentEnd);
+				}
+			} else {
+				if (clock.getTargetFrequency() != frequency) {
+					clock.setTargetFrequency(frequency);
+				}
+				clock.frame(this::presentInterpolated);
+			}
+		}
+	}
+
+	private void presentInterpolated() {
+		snapshots.swapFront();
+		var snapshot = snapshots.front();
+		if (snapshot.publishedNanos() != 0) {
+			present(snapshot, snapshot.interpolation(System.nanoTime()));
+		}
+	}
+
+	private void present(RenderSnapshot snapshot, float alpha) {
+		if (!canvas.isDisplayable()) {
+			return;
+		}
+		BufferStrategy buffers = canvas.getBufferStrategy();
+		if (buffers == null) {
+			canvas.createBufferStrategy(2);
+			buffers = canvas.getBufferStrategy();
+		}
+		var image = snapshot.image();
+		int canvasWidth = canvas.getWidth();
+		int canvasHeight = canvas.getHeight();
+		double scaling = Math.min((double) canvasWidth / image.getWidth(), (double) canvasHeight / image.getHeight());
+		if (integerScaling && scaling >= 1) {
+			scaling = Math.floor(scaling);
+		}
+		int width = (int) (image.getWidth() * scaling);
+		int height = (int) (image.getHeight() * scaling);
+		int left = (canvasWidth - width) / 2;
+		int top = (canvasHeight - height) / 2;
+		do {
+			do {
+				Graphics2D g = (Graphics2D) buffers.getDrawGraphics();
+				g.setColor(Color.BLACK);
+				g.fillRect(0, 0, canvasWidth, top);
+				g.fillRect(0, top + height, canvasWidth, canvasHeight - top - height);
+				g.fillRect(0, top, left, height);
+				g.fillRect(left + width, top, canvasWidth - left - width, height);
+				g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+				g.drawImage(image, left, top, width, height, null);
+				g.translate(left, top);
+				g.scale((double) width / image.getWidth(), (double) height / image.getHeight());
+				var hudRendering = snapshot.hudRendering();
+				if (hudRendering != null) {
+					hudLayer.draw(g, hudRendering, snapshot.hud(), snapshot.isHudHighScoreOnly());
+				}
+				snapshot.sprites().draw(g, alpha);
+				var area = snapshot.overlayArea();
+				if (!area.isEmpty()) {
+					int x2 = area.x + area.width;
+					int y2 = area.y + area.height;
+					g.drawImage(snapshot.overlay(), area.x, area.y, x2, y2, area.x, area.y, x2, y2, null);
+				}
+				g.dispose();
+			} while (buffers.contentsRestored());
+			long showStart = System.nanoTime();
+			buffers.show();
+			long showEnd = System.nanoTime();
+			showTimes.record(showEnd - showStart, showEnd);
+		} while (buffers.contentsLost());
+		Toolkit.getDefaultToolkit().sync();
+		inputLatencyTracer.framePresented(snapshot.tick(), System.nanoTime());
+		presentedFrames++; // single writer
+		if (presentedFrames == 1 && firstFrameAction != null) {
+			firstFrameAction.run();
+		}
+	}
+}
\ No newline at end of file
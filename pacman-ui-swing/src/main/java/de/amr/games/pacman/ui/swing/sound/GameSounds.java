@@ -27,6 +27,7 @@ package de.amr.games.pacman.ui.swing.sound;
 import java.net.URL;
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import javax.sound.sampled.AudioInputStream;
@@ -76,6 +77,17 @@ public class GameSounds {
 		map.put(sound, clip);
 	}
 
+	/**
+	 * Opens the clips of the given resource paths in parallel and stores them in the clip map.
+	 * 
+	 * @param paths resource paths by sound
+	 */
+	protected void putAll(Map<GameSound, String> paths) {
+		Map<GameSound, Clip> opened = new ConcurrentHashMap<>();
+		paths.entrySet().parallelStream().forEach(entry -> put(opened, entry.getKey(), entry.getValue()));
+		clips.putAll(opened);
+	}
+
 	protected void startClip(Clip clip) {
 		if (!muted) {
 			clip.setFramePosition(0);
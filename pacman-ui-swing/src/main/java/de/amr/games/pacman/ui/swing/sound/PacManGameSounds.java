@@ -24,6 +24,8 @@ SOFTWARE.
 
 package de.amr.games.pacman.ui.swing.sound;
 
+import java.util.EnumMap;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -35,22 +37,24 @@ public class PacManGameSounds extends GameSounds {
 	private static final Logger LOG = LogManager.getFormatterLogger();
 
 	public PacManGameSounds() {
+		var paths = new EnumMap<GameSound, String>(GameSound.class);
 		//@formatter:off
-		put(clips, GameSound.BONUS_EATEN,     "/pacman/sound/eat_fruit.wav");
-		put(clips, GameSound.CREDIT,          "/pacman/sound/credit.wav");
-		put(clips, GameSound.EXTRA_LIFE,      "/pacman/sound/extend.wav");
-		put(clips, GameSound.GAME_READY,      "/pacman/sound/game_start.wav");
-		put(clips, GameSound.GHOST_EATEN,     "/pacman/sound/eat_ghost.wav");
-		put(clips, GameSound.GHOST_RETURNING, "/pacman/sound/retreating.wav");
-		put(clips, GameSound.INTERMISSION_1,  "/pacman/sound/intermission.wav");
-		put(clips, GameSound.PACMAN_MUNCH,    "/pacman/sound/munch_1.wav");
-		put(clips, GameSound.PACMAN_DEATH,    "/pacman/sound/pacman_death.wav");
-		put(clips, GameSound.PACMAN_POWER,    "/pacman/sound/power_pellet.wav");
-		put(clips, GameSound.SIREN_1,         "/pacman/sound/siren_1.wav");
-		put(clips, GameSound.SIREN_2,         "/pacman/sound/siren_2.wav");
-		put(clips, GameSound.SIREN_3,         "/pacman/sound/siren_3.wav");
-		put(clips, GameSound.SIREN_4,         "/pacman/sound/siren_4.wav");
+		paths.put(GameSound.BONUS_EATEN,     "/pacman/sound/eat_fruit.wav");
+		paths.put(GameSound.CREDIT,          "/pacman/sound/credit.wav");
+		paths.put(GameSound.EXTRA_LIFE,      "/pacman/sound/extend.wav");
+		paths.put(GameSound.GAME_READY,      "/pacman/sound/game_start.wav");
+		paths.put(GameSound.GHOST_EATEN,     "/pacman/sound/eat_ghost.wav");
+		paths.put(GameSound.GHOST_RETURNING, "/pacman/sound/retreating.wav");
+		paths.put(GameSound.INTERMISSION_1,  "/pacman/sound/intermission.wav");
+		paths.put(GameSound.PACMAN_MUNCH,    "/pacman/sound/munch_1.wav");
+		paths.put(GameSound.PACMAN_DEATH,    "/pacman/sound/pacman_death.wav");
+		paths.put(GameSound.PACMAN_POWER,    "/pacman/sound/power_pellet.wav");
+		paths.put(GameSound.SIREN_1,         "/pacman/sound/siren_1.wav");
+		paths.put(GameSound.SIREN_2,         "/pacman/sound/siren_2.wav");
+		paths.put(GameSound.SIREN_3,         "/pacman/sound/siren_3.wav");
+		paths.put(GameSound.SIREN_4,         "/pacman/sound/siren_4.wav");
 		//@formatter:on
+		putAll(paths);
 		LOG.info("Pac-Man audio clips loaded");
 	}
 }
\ No newline at end of file
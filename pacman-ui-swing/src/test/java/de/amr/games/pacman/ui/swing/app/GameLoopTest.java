@@ -0,0 +1,194 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the life-cycle of {@link GameLoop} with an action counting its iterations.
+ * 
+ * @author Armin Reichert
+ */
+class GameLoopTest {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(5);
+	/** Time the loop gets to (wrongly) run the action while it should be blocked. */
+	private static final long QUIET_MILLIS = 100;
+
+	private final GameLoop loop = new GameLoop();
+	private final AtomicInteger iterations = new AtomicInteger();
+	private final AtomicReference<Thread> loopThread = new AtomicReference<>();
+
+	private final Runnable countingAction = () -> {
+		loopThread.set(Thread.currentThread());
+		iterations.incrementAndGet();
+		sleep(1);
+	};
+
+	@AfterEach
+	void stopLoop() {
+		loop.stop();
+	}
+
+	@Test
+	void runsActionUntilStopped() {
+		assertEquals(GameLoop.State.CREATED, loop.state());
+		loop.setAction(countingAction);
+		loop.start();
+		assertTrue(loop.isRunning());
+		awaitIterations(10);
+
+		// stop() must only end the loop thread, an exit of the VM would end this test run here
+		assertTimeoutPreemptively(TIMEOUT, loop::stop);
+		assertEquals(GameLoop.State.STOPPED, loop.state());
+		assertFalse(loopThread.get().isAlive(), "Loop thread still alive after stop");
+		int count = iterations.get();
+		sleep(QUIET_MILLIS);
+		assertEquals(count, iterations.get(), "Action executed after stop");
+	}
+
+	@Test
+	void startAndStopAreIdempotent() {
+		loop.setAction(countingAction);
+		loop.start();
+		awaitIterations(1);
+		loop.start();
+		assertTimeoutPreemptively(TIMEOUT, loop::stop);
+		assertTimeoutPreemptively(TIMEOUT, loop::stop);
+		loop.start();
+		assertEquals(GameLoop.State.STOPPED, loop.state());
+	}
+
+	@Test
+	void stopBeforeStartDoesNotBlock() {
+		assertTimeoutPreemptively(TIMEOUT, loop::stop);
+		assertEquals(GameLoop.State.STOPPED, loop.state());
+	}
+
+	@Test
+	void pausedLoopExecutesOnlyRequestedSteps() {
+		loop.setAction(countingAction);
+		loop.start();
+		awaitIterations(1);
+
+		loop.pause();
+		assertTrue(loop.isPaused());
+		// an iteration may have been in progress when pausing
+		sleep(QUIET_MILLIS);
+		int paused = iterations.get();
+		sleep(QUIET_MILLIS);
+		assertEquals(paused, iterations.get(), "Action executed while paused");
+
+		loop.step();
+		awaitIterations(paused + 1);
+		loop.step();
+		loop.step();
+		awaitIterations(paused + 3);
+		sleep(QUIET_MILLIS);
+		assertEquals(paused + 3, iterations.get(), "More iterations than steps");
+
+		loop.resume();
+		assertTrue(loop.isRunning());
+		awaitIterations(paused + 10);
+	}
+
+	@Test
+	void stepAndResumeAreIgnoredUnlessPaused() {
+		loop.step();
+		assertEquals(GameLoop.State.CREATED, loop.state());
+		loop.setAction(countingAction);
+		loop.start();
+		loop.step();
+		loop.resume();
+		assertTrue(loop.isRunning());
+		awaitIterations(1);
+	}
+
+	@Test
+	void stopWakesPausedLoop() {
+		loop.setAction(countingAction);
+		loop.start();
+		awaitIterations(1);
+		loop.pause();
+		assertTimeoutPreemptively(TIMEOUT, loop::stop);
+		assertFalse(loopThread.get().isAlive(), "Loop thread still alive after stop");
+	}
+
+	@Test
+	void loopWithoutActionIsIdle() {
+		loop.start();
+		sleep(QUIET_MILLIS);
+		loop.setAction(countingAction);
+		awaitIterations(1);
+		loop.setAction(null);
+		// an iteration may have been in progress when removing the action
+		sleep(QUIET_MILLIS);
+		int idle = iterations.get();
+		sleep(QUIET_MILLIS);
+		assertEquals(idle, iterations.get(), "Action executed after removal");
+		assertTrue(loop.isRunning());
+	}
+
+	@Test
+	void actionCanStopItsOwnLoop() {
+		loop.setAction(() -> {
+			loopThread.set(Thread.currentThread());
+			iterations.incrementAndGet();
+			loop.stop();
+		});
+		loop.start();
+		awaitIterations(1);
+		assertTimeoutPreemptively(TIMEOUT, () -> loopThread.get().join());
+		assertEquals(1, iterations.get());
+		assertEquals(GameLoop.State.STOPPED, loop.state());
+	}
+
+	private void awaitIterations(int count) {
+		long deadline = System.nanoTime() + TIMEOUT.toNanos();
+		while (iterations.get() < count) {
+			assertTrue(System.nanoTime() < deadline,
+					() -> "Only %d of %d iterations executed".formatted(iterations.get(), count));
+			sleep(1);
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			TimeUnit.MILLISECONDS.sleep(millis);
+		} catch (InterruptedException x) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,149 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the log-linear bucket bounds and the percentiles of {@link LatencyHistogram} with known distributions.
+ * 
+ * @author Armin Reichert
+ */
+class LatencyHistogramTest {
+
+	/** Width of a sub-bucket relative to its lower bound (16 sub-buckets per power of two). */
+	private static final double MAX_RELATIVE_ERROR = 1.0 / 16;
+	private static final long SLICE_NANOS = 1_000;
+
+	@Test
+	void smallValuesHaveExactBuckets() {
+		for (long value = 0; value < 16; ++value) {
+			int index = LatencyHistogram.bucketIndex(value);
+			assertEquals(value, LatencyHistogram.bucketLowerBound(index));
+			assertEquals(value + 1, LatencyHistogram.bucketLowerBound(index + 1));
+		}
+	}
+
+	@Test
+	void bucketsContainTheirValues() {
+		for (long value = 16; value < 1L << 40; value += 1 + value / 7) {
+			int index = LatencyHistogram.bucketIndex(value);
+			long lower = LatencyHistogram.bucketLowerBound(index);
+			long upper = LatencyHistogram.bucketLowerBound(index + 1);
+			long v = value;
+			assertTrue(lower <= value && value < upper, () -> "%d not in bucket [%d, %d)".formatted(v, lower, upper));
+			assertTrue(upper - lower <= lower * MAX_RELATIVE_ERROR,
+					() -> "Bucket [%d, %d) of %d too wide".formatted(lower, upper, v));
+		}
+	}
+
+	@Test
+	void bucketsAreContiguous() {
+		for (int index = 1; index < LatencyHistogram.bucketIndex(Long.MAX_VALUE); ++index) {
+			long lower = LatencyHistogram.bucketLowerBound(index);
+			assertEquals(index, LatencyHistogram.bucketIndex(lower));
+			assertEquals(index - 1, LatencyHistogram.bucketIndex(lower - 1));
+		}
+	}
+
+	@Test
+	void outOfRangeValuesAreClamped() {
+		assertEquals(0, LatencyHistogram.bucketIndex(-1));
+		assertEquals(LatencyHistogram.bucketIndex(1L << 41), LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+	}
+
+	@Test
+	void constantDistributionIsReportedExactly() {
+		var histogram = new LatencyHistogram(1, SLICE_NANOS);
+		for (int i = 0; i < 1000; ++i) {
+			histogram.record(16_666_667, 1);
+		}
+		publish(histogram, 1);
+		var p = histogram.percentiles();
+		assertEquals(1000, p.count());
+		assertEquals(16_666_667, p.p50());
+		assertEquals(16_666_667, p.p999());
+		assertEquals(16_666_667, p.max());
+	}
+
+	@Test
+	void uniformDistributionPercentilesAreWithinBucketError() {
+		var histogram = new LatencyHistogram(1, SLICE_NANOS);
+		// 1 us, 2 us, ..., 10 ms
+		for (int i = 1; i <= 10_000; ++i) {
+			histogram.record(i * 1_000L, 1);
+		}
+		publish(histogram, 1);
+		var p = histogram.percentiles();
+		assertEquals(10_000, p.count());
+		assertEquals(10_000_000, p.max());
+		assertPercentile("p50", 5_000_000, p.p50());
+		assertPercentile("p90", 9_000_000, p.p90());
+		assertPercentile("p99", 9_900_000, p.p99());
+		assertPercentile("p99.9", 9_990_000, p.p999());
+	}
+
+	@Test
+	void outliersShowOnlyInHighPercentiles() {
+		var histogram = new LatencyHistogram(1, SLICE_NANOS);
+		for (int i = 0; i < 995; ++i) {
+			histogram.record(1_000_000, 1);
+		}
+		for (int i = 0; i < 5; ++i) {
+			histogram.record(50_000_000, 1);
+		}
+		publish(histogram, 1);
+		var p = histogram.percentiles();
+		assertPercentile("p50", 1_000_000, p.p50());
+		assertPercentile("p99", 1_000_000, p.p99());
+		assertPercentile("p99.9", 50_000_000, p.p999());
+		assertEquals(50_000_000, p.max());
+	}
+
+	@Test
+	void oldSlicesLeaveTheWindow() {
+		var histogram = new LatencyHistogram(2, SLICE_NANOS);
+		histogram.record(50_000_000, 1);
+		// two slices later the outlier has left the window
+		histogram.record(1_000, 1 + 2 * SLICE_NANOS);
+		publish(histogram, 1 + 2 * SLICE_NANOS);
+		var p = histogram.percentiles();
+		assertEquals(1, p.count());
+		assertEquals(1_000, p.max());
+	}
+
+	/** Completes the slice started at the given time, which publishes the percentiles. */
+	private static void publish(LatencyHistogram histogram, long sliceStart) {
+		histogram.record(0, sliceStart + SLICE_NANOS);
+	}
+
+	private static void assertPercentile(String name, long expected, long reported) {
+		assertTrue(expected <= reported && reported <= expected + expected * MAX_RELATIVE_ERROR,
+				() -> "%s reported as %d, expected %d + at most %.1f%%".formatted(name, reported, expected,
+						100 * MAX_RELATIVE_ERROR));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,130 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import de.amr.games.pacman.controller.common.GameController;
+import de.amr.games.pacman.event.GameEvent;
+import de.amr.games.pacman.event.GameEventType;
+import de.amr.games.pacman.lib.steering.Direction;
+import de.amr.games.pacman.model.common.GameVariant;
+import de.amr.games.pacman.ui.swing.shell.ExperimentLog;
+
+/**
+ * Runs two sessions concurrently, each steered by its own {@link SessionInput} with a distinct set of directions, and
+ * checks that the event streams, the steering and the scores of the sessions stay apart.
+ * 
+ * @author Armin Reichert
+ */
+class SessionHostTest {
+
+	private static final long TICKS = 20_000;
+	private static final int COMMANDS = 5_000;
+
+	/** Records what the session receives and applies, all fields are only modified by the session thread. */
+	private static class RecordingSession extends HeadlessSimulation {
+
+		final GameController gameController;
+		final SessionInput input = new SessionInput();
+		final Set<Thread> eventThreads = new HashSet<>();
+		final Set<Direction> appliedDirections = EnumSet.noneOf(Direction.class);
+		final List<GameEventType> events = new ArrayList<>();
+		Thread sessionThread;
+		long startNanos;
+		long endNanos;
+		int maxScore;
+
+		RecordingSession(String name, Direction... commands) {
+			this(new GameController(GameVariant.PACMAN), name, commands);
+		}
+
+		private RecordingSession(GameController gameController, String name, Direction... commands) {
+			super(gameController, new ExperimentLog(new StringWriter()), TICKS, 0);
+			this.gameController = gameController;
+			setName(name);
+			for (int i = 0; i < COMMANDS; ++i) {
+				input.offer(commands[i % commands.length]);
+			}
+			setSteering((level, pac) -> {
+				long applied = input.appliedCommands();
+				input.steer(level, pac);
+				if (input.appliedCommands() > applied) {
+					appliedDirections.add(pac.wishDir());
+				}
+			});
+		}
+
+		@Override
+		public void run() {
+			sessionThread = Thread.currentThread();
+			startNanos = System.nanoTime();
+			super.run();
+			endNanos = System.nanoTime();
+		}
+
+		@Override
+		public void onGameEvent(GameEvent event) {
+			eventThreads.add(Thread.currentThread());
+			events.add(event.type);
+			gameController.game().score().ifPresent(score -> maxScore = Math.max(maxScore, score.points()));
+			super.onGameEvent(event);
+		}
+	}
+
+	@Test
+	void concurrentSessionsStayIndependent() {
+		var horizontal = new RecordingSession("Horizontal", Direction.LEFT, Direction.RIGHT);
+		var vertical = new RecordingSession("Vertical", Direction.UP, Direction.DOWN);
+		var host = new SessionHost(2);
+		host.addSession(horizontal);
+		host.addSession(vertical);
+		host.run();
+
+		for (var session : List.of(horizontal, vertical)) {
+			assertEquals(TICKS, session.ticks(), session.name());
+			assertEquals(Set.of(session.sessionThread), session.eventThreads,
+					() -> session.name() + " received events published by another session");
+			assertTrue(session.events.contains(GameEventType.LEVEL_STARTING), session.name());
+			assertTrue(session.input.appliedCommands() > 0, () -> session.name() + " applied no commands");
+			assertTrue(session.maxScore > 0, () -> session.name() + " scored no points");
+		}
+		assertTrue(horizontal.startNanos < vertical.endNanos && vertical.startNanos < horizontal.endNanos,
+				"Sessions did not run concurrently");
+		assertEquals(EnumSet.of(Direction.LEFT, Direction.RIGHT), horizontal.appliedDirections);
+		assertEquals(EnumSet.of(Direction.UP, Direction.DOWN), vertical.appliedDirections);
+		assertNotSame(horizontal.gameController.game().score().get(), vertical.gameController.game().score().get());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,176 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the frame deadlines of the {@link SpeedControl.Pacing#HYBRID} pacing on a simulated clock, where waiting and
+ * working just advance the time.
+ * 
+ * @author Armin Reichert
+ */
+class SpeedControlTest {
+
+	private static class FakeTicker implements SpeedControl.Ticker {
+
+		long now = 1_000_000_000;
+
+		@Override
+		public long nanoTime() {
+			return now;
+		}
+
+		@Override
+		public void waitUntil(long deadline) {
+			now = Math.max(now, deadline);
+		}
+	}
+
+	private static final long MILLIS = 1_000_000;
+
+	private final FakeTicker ticker = new FakeTicker();
+	private final SpeedControl clock = new SpeedControl(ticker);
+
+	private void frame(long workNanos) {
+		clock.frame(() -> ticker.now += workNanos);
+	}
+
+	@Test
+	void framesEndOnDeadlinesWithoutDrift() {
+		clock.setTargetFrequency(60.606);
+		long start = ticker.now;
+		long duration = clock.getFrameDurationNanos();
+		for (int i = 1; i <= 10_000; ++i) {
+			frame(2 * MILLIS);
+			assertEquals(start + i * duration, ticker.now);
+		}
+		assertEquals(0, clock.getSkippedFrames());
+	}
+
+	@Test
+	void lateFramesCatchUpWithoutWaiting() {
+		long start = ticker.now;
+		long duration = clock.getFrameDurationNanos();
+		// first frame ends 2.5 frames late, frames 2 and 3 run back-to-back, frame 4 is on time again
+		frame(duration * 7 / 2);
+		for (int i = 2; i <= 3; ++i) {
+			long frameStart = ticker.now;
+			frame(MILLIS);
+			assertEquals(frameStart + MILLIS, ticker.now, "Late frame waited");
+		}
+		frame(MILLIS);
+		assertEquals(start + 4 * duration, ticker.now);
+		assertEquals(0, clock.getSkippedFrames());
+	}
+
+	@Test
+	void fallingTooFarBehindSkipsFrames() {
+		clock.setMaxFramesBehind(5);
+		long duration = clock.getFrameDurationNanos();
+		frame(20 * duration);
+		assertEquals(19, clock.getSkippedFrames());
+		long resumed = ticker.now;
+		frame(MILLIS);
+		assertEquals(resumed + duration, ticker.now);
+	}
+
+	@Test
+	void resyncRestartsTimingAfterPause() throws InterruptedException {
+		long duration = clock.getFrameDurationNanos();
+		for (int i = 0; i < 10; ++i) {
+			frame(MILLIS);
+		}
+		// paused for 10 seconds, then resumed by another thread
+		ticker.now += 10_000 * MILLIS;
+		var resumer = new Thread(clock::resync);
+		resumer.start();
+		resumer.join();
+		long resumed = ticker.now;
+		frame(MILLIS);
+		assertEquals(resumed + duration, ticker.now);
+		assertEquals(0, clock.getSkippedFrames());
+	}
+
+	@Test
+	void resyncDuringFrameIsAppliedByFrameThread() {
+		long duration = clock.getFrameDurationNanos();
+		for (int i = 0; i < 100; ++i) {
+			long frameStart = ticker.now;
+			clock.frame(() -> {
+				ticker.now += MILLIS;
+				clock.resync();
+			});
+			assertEquals(frameStart + duration, ticker.now);
+		}
+		assertEquals(0, clock.getSkippedFrames());
+	}
+
+	@Test
+	void frequencyChangeAppliesToNextFrame() {
+		frame(MILLIS);
+		clock.setTargetFrequency(30);
+		long duration = clock.getFrameDurationNanos();
+		assertEquals(33_333_333, duration);
+		long frameStart = ticker.now;
+		frame(MILLIS);
+		assertEquals(frameStart + duration, ticker.now);
+		assertEquals(0, clock.getSkippedFrames());
+	}
+
+	@Test
+	void lateLatchWaitsBeforeTheWork() {
+		clock.setLateLatch(true);
+		long duration = clock.getFrameDurationNanos();
+		long[] workStart = new long[11];
+		for (int i = 0; i < workStart.length; ++i) {
+			int frame = i;
+			clock.frame(() -> {
+				workStart[frame] = ticker.now;
+				ticker.now += MILLIS;
+			});
+		}
+		for (int i = 2; i < workStart.length; ++i) {
+			assertEquals(workStart[1] + (i - 1) * duration, workStart[i]);
+		}
+	}
+
+	@Test
+	void systemClockNeverEndsFramesEarly() {
+		var systemClock = new SpeedControl();
+		systemClock.setTargetFrequency(60.606);
+		int frames = 30;
+		long start = System.nanoTime();
+		for (int i = 0; i < frames; ++i) {
+			systemClock.frame(() -> {
+			});
+		}
+		long elapsed = System.nanoTime() - start;
+		long expected = frames * systemClock.getFrameDurationNanos();
+		assertTrue(elapsed >= expected, () -> "%d frames took %d ns, expected %d ns".formatted(frames, elapsed, expected));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,178 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.scenes.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Test;
+
+import de.amr.games.pacman.controller.common.GameController;
+import de.amr.games.pacman.controller.common.GameState;
+import de.amr.games.pacman.event.GameEvent;
+import de.amr.games.pacman.event.GameEventListener;
+import de.amr.games.pacman.event.GameEvents;
+import de.amr.games.pacman.model.common.GameVariant;
+import de.amr.games.pacman.model.common.world.ArcadeWorld;
+import de.amr.games.pacman.ui.swing.app.AllocationBudget;
+import de.amr.games.pacman.ui.swing.rendering.common.ActorSprites;
+import de.amr.games.pacman.ui.swing.rendering.common.GhostAnimations;
+import de.amr.games.pacman.ui.swing.rendering.common.PacAnimations;
+import de.amr.games.pacman.ui.swing.rendering.common.Rendering2D;
+import de.amr.games.pacman.ui.swing.rendering.common.WorldAnimations;
+import de.amr.games.pacman.ui.swing.rendering.mspacman.SpritesheetMsPacMan;
+import de.amr.games.pacman.ui.swing.rendering.pacman.SpritesheetPacMan;
+import de.amr.games.pacman.ui.swing.shell.RenderSnapshot;
+
+/**
+ * Renders the play scene of autopilot games into an offscreen image and checks that the rendering does not allocate
+ * after warmup. Only the scene rendering and the copy of the HUD values are measured, as done by the UI for each
+ * snapshot, not the game update. As in the UI, the animations of the actors and the maze are created when a level
+ * starts, so their frames are rendered too.
+ * 
+ * @author Armin Reichert
+ */
+class PlaySceneAllocationTest {
+
+	/**
+	 * The UI code does not allocate, but accessors of the game model like {@code game.level()} may return a new
+	 * {@code Optional} unless the JIT eliminates it.
+	 */
+	private static final long BUDGET_BYTES = 256;
+	private static final int WARMUP_FRAMES = 2_000;
+	private static final int MEASURED_FRAMES = 3_000;
+
+	/** Sets the level animations like the UI does, see {@code PacManGameUI.setLevelAnimations()}. */
+	private static class LevelAnimationsCreator implements GameEventListener {
+
+		private final GameController gameController;
+		private final Rendering2D r2D;
+		private WorldAnimations worldAnimations;
+		private PacAnimations pacAnimations;
+		private final GhostAnimations[] ghostAnimations = new GhostAnimations[4];
+		private int levelsStarted;
+
+		LevelAnimationsCreator(GameController gameController, Rendering2D r2D) {
+			this.gameController = gameController;
+			this.r2D = r2D;
+		}
+
+		@Override
+		public void onLevelStarting(GameEvent e) {
+			gameController.game().level().ifPresent(level -> {
+				if (levelsStarted == 0) {
+					worldAnimations = new WorldAnimations(r2D, level.number());
+					pacAnimations = new PacAnimations(level.pac(), r2D);
+					level.ghosts().forEach(ghost -> ghostAnimations[ghost.id()] = new GhostAnimations(ghost, r2D));
+				} else {
+					worldAnimations.setLevelNumber(level.number());
+					pacAnimations.bind(level.pac());
+					level.ghosts().forEach(ghost -> ghostAnimations[ghost.id()].bind(ghost));
+				}
+				level.world().setAnimations(worldAnimations);
+				level.pac().setAnimations(pacAnimations);
+				level.ghosts().forEach(ghost -> ghost.setAnimations(ghostAnimations[ghost.id()]));
+				++levelsStarted;
+			});
+		}
+	}
+
+	@Test
+	void pacManPlaySceneRendersWithinBudget() {
+		renderWithinBudget(GameVariant.PACMAN);
+	}
+
+	@Test
+	void msPacManPlaySceneRendersWithinBudget() {
+		renderWithinBudget(GameVariant.MS_PACMAN);
+	}
+
+	private void renderWithinBudget(GameVariant variant) {
+		var budget = new AllocationBudget(BUDGET_BYTES, WARMUP_FRAMES);
+		assumeTrue(budget.isSupported(), "Thread allocation counter not supported by this VM");
+
+		var gameController = new GameController(variant);
+		Rendering2D r2D = switch (variant) {
+		case MS_PACMAN -> SpritesheetMsPacMan.get();
+		case PACMAN -> SpritesheetPacMan.get();
+		};
+		var scene = new PlayScene();
+		scene.setContext(gameController);
+		scene.setRendering(r2D);
+		scene.init();
+		var animationsCreator = new LevelAnimationsCreator(gameController, r2D);
+		GameEvents.addListener(animationsCreator);
+		GameEvents.addListener(scene);
+
+		var size = ArcadeWorld.SIZE_PX;
+		var image = new BufferedImage(size.x(), size.y(), BufferedImage.TYPE_INT_RGB);
+		var g = image.createGraphics();
+		var sprites = new ActorSprites();
+		var snapshot = new RenderSnapshot(size);
+		int framesWithLevel = 0;
+		try {
+			if (!gameController.isAutoControlled()) {
+				gameController.toggleAutoControlled();
+			}
+			gameController.restart(GameState.INTRO);
+			for (int frame = 0; frame < WARMUP_FRAMES + MEASURED_FRAMES; ++frame) {
+				gameController.update();
+				startGameIfIdle(gameController);
+				budget.begin();
+				scene.render(g);
+				sprites.clear();
+				scene.collectSprites(sprites);
+				scene.collectHud(snapshot);
+				budget.end();
+				if (frame >= WARMUP_FRAMES && gameController.game().level().isPresent()) {
+					++framesWithLevel;
+				}
+			}
+		} finally {
+			GameEvents.removeListener(scene);
+			GameEvents.removeListener(animationsCreator);
+			g.dispose();
+		}
+
+		assertTrue(animationsCreator.levelsStarted > 0, "No level animations have been created");
+		assertTrue(framesWithLevel > 0, "No game level has been rendered");
+		assertEquals(0, budget.violations(), () -> "%d of %d frames exceeded the budget of %d bytes, max %d bytes"
+				.formatted(budget.violations(), MEASURED_FRAMES, BUDGET_BYTES, budget.maxViolationBytes()));
+	}
+
+	private static void startGameIfIdle(GameController gameController) {
+		var state = gameController.state();
+		if (state == GameState.INTRO || state == GameState.CREDIT) {
+			if (!gameController.game().hasCredit()) {
+				gameController.addCredit();
+			}
+			gameController.startPlaying();
+		} else if (state == GameState.INTERMISSION || state == GameState.INTERMISSION_TEST) {
+			gameController.terminateCurrentState();
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+/*
+MIT License
+
+Copyright (c) 2021-22 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.swing.shell;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks capacity, ordering, wraparound and drop counting of {@link KeyEventRing}.
+ * 
+ * @author Armin Reichert
+ */
+class KeyEventRingTest {
+
+	private record Press(int keyCode, byte modifiers, long nanos) {
+	}
+
+	private final List<Press> drained = new ArrayList<>();
+	private final KeyEventRing.Handler collector = (code, modifiers, nanos) -> drained
+			.add(new Press(code, modifiers, nanos));
+
+	@Test
+	void capacityIsRoundedUpToPowerOfTwo() {
+		assertEquals(1, new KeyEventRing(1).capacity());
+		assertEquals(2, new KeyEventRing(2).capacity());
+		assertEquals(4, new KeyEventRing(3).capacity());
+		assertEquals(4, new KeyEventRing(4).capacity());
+		assertEquals(8, new KeyEventRing(5).capacity());
+		assertEquals(256, new KeyEventRing(256).capacity());
+		assertEquals(512, new KeyEventRing(257).capacity());
+	}
+
+	@Test
+	void invalidCapacityIsRejected() {
+		assertThrows(IllegalArgumentException.class, () -> new KeyEventRing(0));
+		assertThrows(IllegalArgumentException.class, () -> new KeyEventRing(-1));
+		assertThrows(IllegalArgumentException.class, () -> new KeyEventRing((1 << 30) + 1));
+	}
+
+	@Test
+	void drainPassesEventsInOrder() {
+		var ring = new KeyEventRing(8);
+		for (int i = 0; i < 5; ++i) {
+			assertTrue(ring.offer(65 + i, Keyboard.MOD_SHIFT, 1000 + i));
+		}
+		assertEquals(5, ring.drain(collector));
+		for (int i = 0; i < 5; ++i) {
+			assertEquals(new Press(65 + i, Keyboard.MOD_SHIFT, 1000 + i), drained.get(i));
+		}
+		assertEquals(0, ring.drain(collector));
+		assertEquals(5, drained.size());
+	}
+
+	@Test
+	void fullRingDropsAndCountsNewEvents() {
+		var ring = new KeyEventRing(4);
+		for (int i = 0; i < 4; ++i) {
+			assertTrue(ring.offer(i + 1, Keyboard.MOD_NONE, i));
+		}
+		assertFalse(ring.offer(5, Keyboard.MOD_NONE, 4));
+		assertFalse(ring.offer(6, Keyboard.MOD_NONE, 5));
+		assertEquals(2, ring.droppedCount());
+
+		assertEquals(4, ring.drain(collector));
+		for (int i = 0; i < 4; ++i) {
+			assertEquals(i + 1, drained.get(i).keyCode());
+		}
+		// drained slots can be used again
+		assertTrue(ring.offer(7, Keyboard.MOD_NONE, 6));
+		assertEquals(2, ring.droppedCount());
+	}
+
+	@Test
+	void eventsSurviveWraparound() {
+		var ring = new KeyEventRing(4);
+		int next = 0;
+		for (int round = 0; round < 50; ++round) {
+			int count = 1 + round % 4;
+			for (int i = 0; i < count; ++i) {
+				assertTrue(ring.offer(next, Keyboard.MOD_NONE, next));
+				++next;
+			}
+			assertEquals(count, ring.drain(collector));
+		}
+		assertEquals(next, drained.size());
+		for (int i = 0; i < next; ++i) {
+			assertEquals(i, drained.get(i).keyCode());
+		}
+		assertEquals(0, ring.droppedCount());
+	}
+
+	@Test
+	void concurrentProducerAndConsumerLoseNothingUncounted() throws InterruptedException {
+		var ring = new KeyEventRing(16);
+		int total = 200_000;
+		var producer = new Thread(() -> {
+			for (int i = 0; i < total; ++i) {
+				ring.offer(i, Keyboard.MOD_NONE, i);
+			}
+		});
+		producer.start();
+		while (producer.isAlive()) {
+			ring.drain(collector);
+		}
+		producer.join();
+		ring.drain(collector);
+
+		assertEquals(total, drained.size() + ring.droppedCount());
+		for (int i = 1; i < drained.size(); ++i) {
+			assertTrue(drained.get(i - 1).keyCode() < drained.get(i).keyCode(), "Events out of order");
+			assertEquals(drained.get(i).keyCode(), drained.get(i).nanos());
+		}
+	}
+}
\ No newline at end of file